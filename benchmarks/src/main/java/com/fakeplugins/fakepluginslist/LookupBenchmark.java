@@ -0,0 +1,64 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    private ConfigSnapshot snapshot;
+    private CapturingSender sender;
+    private String hit;
+    private String miss;
+
+    @Setup
+    public void setup() {
+        snapshot = ConfigSnapshot.load(Catalogues.synthetic(size, false, 0), Paths.get(""), null);
+        sender = new CapturingSender(false);
+        hit = Catalogues.name(size - 1).toUpperCase();
+        miss = "NoSuchPlugin";
+    }
+
+    @Benchmark
+    public void sendPluginInfo(Blackhole blackhole) {
+        CompiledPlugin target = snapshot.findPlugin(hit);
+        sender.sender().sendMessage(target.info);
+        blackhole.consume(sender.last());
+    }
+
+    @Benchmark
+    public CompiledPlugin findFakePluginByNameHit() {
+        return snapshot.findPlugin(hit);
+    }
+
+    @Benchmark
+    public CompiledPlugin findFakePluginByNameMiss() {
+        return snapshot.findPlugin(miss);
+    }
+
+    @Benchmark
+    public Object completePrefix() {
+        return snapshot.index.complete("plugin1", 100);
+    }
+}
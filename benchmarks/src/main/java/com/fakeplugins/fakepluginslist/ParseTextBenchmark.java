@@ -0,0 +1,52 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseTextBenchmark {
+
+    private final String miniMessage = "<#349FDA>ⓘ<#349FDA> <white>Server Plugins (42<white>):";
+    private final String legacy = "&bServer Plugins (&f42&f):";
+    private final String header = "<#0288D1>Paper Plugins (%count%, %enabled_count% on, %disabled_count% off):";
+
+    @Benchmark
+    public Component parseTextMiniMessage() {
+        return TextFormat.parseText(miniMessage);
+    }
+
+    @Benchmark
+    public Component parseTextLegacy() {
+        return TextFormat.parseText(legacy);
+    }
+
+    private final HeaderTemplate template = HeaderTemplate.compile(header, PlaceholderRegistry.withDefaults())
+            .bindCounts(90, 81);
+
+    @Benchmark
+    public Component replaceAndParseHeader() {
+        return TextFormat.parseText(header.replace("%count%", "90")
+                .replace("%enabled_count%", "81")
+                .replace("%disabled_count%", "9"));
+    }
+
+    @Benchmark
+    public Component renderHeaderTemplate() {
+        return template.render();
+    }
+}
@@ -0,0 +1,50 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PluginsListBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int size;
+
+    @Param({"true", "false"})
+    public boolean randomOrder;
+
+    @Param({"0", "16"})
+    public int poolSize;
+
+    private ConfigSnapshot snapshot;
+    private CapturingSender sender;
+
+    @Setup
+    public void setup() {
+        snapshot = ConfigSnapshot.load(Catalogues.synthetic(size, randomOrder, poolSize), Paths.get(""), null);
+        sender = new CapturingSender(false);
+    }
+
+    @Benchmark
+    public void sendPluginsList(Blackhole blackhole) {
+        sender.sender().sendMessage(snapshot.pluginsList());
+        blackhole.consume(sender.last());
+    }
+}
@@ -0,0 +1,153 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.command.CommandSender;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+final class AuditLog {
+
+    enum View {
+        FAKE,
+        REAL,
+        THROTTLED
+    }
+
+    private static final int MAX_TRACKED_SENDERS = 1000;
+
+    private final RollingFile file;
+    private final AtomicReferenceArray<Entry> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, SenderSummary> senders = new ConcurrentHashMap<>();
+    private long reportedDrops;
+
+    AuditLog(Path file, int bufferSize, long maxBytes) {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        this.file = new RollingFile(file, maxBytes);
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    void record(CommandSender sender, String label, String[] args, View view) {
+        Entry entry = new Entry(System.currentTimeMillis(), sender.getName(), label, String.join(" ", args), view);
+        while (true) {
+            long slot = tail.get();
+            if (slot - head.get() >= slots.length()) {
+                dropped.increment();
+                return;
+            }
+            if (tail.compareAndSet(slot, slot + 1)) {
+                slots.set((int) slot & mask, entry);
+                return;
+            }
+        }
+    }
+
+    synchronized void flush() throws IOException {
+        List<String> lines = new ArrayList<>();
+        long position = head.get();
+        Entry entry;
+        while ((entry = slots.get((int) position & mask)) != null) {
+            slots.set((int) position & mask, null);
+            position++;
+            head.set(position);
+            lines.add(Instant.ofEpochMilli(entry.time) + " " + entry.sender + " /" + entry.label
+                    + (entry.args.isEmpty() ? "" : " " + entry.args) + " " + entry.view.name().toLowerCase(Locale.ROOT));
+            summarize(entry);
+        }
+        long drops = dropped.sum();
+        if (drops != reportedDrops) {
+            lines.add(Instant.now() + " dropped " + (drops - reportedDrops) + " entries, audit buffer full");
+            reportedDrops = drops;
+        }
+        file.append(lines);
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    List<String> report(String name, int limit) {
+        List<String> lines = new ArrayList<>();
+        if (name != null) {
+            SenderSummary summary = senders.get(name.toLowerCase(Locale.ROOT));
+            lines.add(summary == null ? "No audited queries from " + name + "." : summary.describe());
+            return lines;
+        }
+        List<SenderSummary> top = new ArrayList<>(senders.values());
+        top.sort((first, second) -> Long.compare(second.total(), first.total()));
+        lines.add("Audited senders: " + senders.size() + ", dropped entries: " + dropped());
+        for (int i = 0; i < top.size() && i < limit; i++) {
+            lines.add(" " + top.get(i).describe());
+        }
+        return lines;
+    }
+
+    private void summarize(Entry entry) {
+        String key = entry.sender.toLowerCase(Locale.ROOT);
+        SenderSummary summary = senders.get(key);
+        if (summary == null) {
+            if (senders.size() >= MAX_TRACKED_SENDERS) {
+                return;
+            }
+            summary = new SenderSummary(entry.sender);
+            senders.put(key, summary);
+        }
+        summary.views[entry.view.ordinal()]++;
+        summary.lastLabel = entry.label;
+        summary.lastTime = entry.time;
+    }
+
+    private static final class Entry {
+        private final long time;
+        private final String sender;
+        private final String label;
+        private final String args;
+        private final View view;
+
+        private Entry(long time, String sender, String label, String args, View view) {
+            this.time = time;
+            this.sender = sender;
+            this.label = label;
+            this.args = args;
+            this.view = view;
+        }
+    }
+
+    private static final class SenderSummary {
+        private final String name;
+        private final long[] views = new long[View.values().length];
+        private volatile String lastLabel;
+        private volatile long lastTime;
+
+        private SenderSummary(String name) {
+            this.name = name;
+        }
+
+        private long total() {
+            long total = 0L;
+            for (long count : views) {
+                total += count;
+            }
+            return total;
+        }
+
+        private String describe() {
+            return name + ": " + total() + " queries (" + views[View.FAKE.ordinal()] + " fake, "
+                    + views[View.REAL.ordinal()] + " real, " + views[View.THROTTLED.ordinal()] + " throttled), last /"
+                    + lastLabel + " at " + Instant.ofEpochMilli(lastTime);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.fakeplugins.fakepluginslist;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class CatalogueFile {
+
+    private static final List<String> CSV_COLUMNS = Arrays.asList(
+            "name", "category", "enabled", "version", "description", "authors");
+    private static final Pattern ERROR_COLUMN = Pattern.compile("at line \\d+ column (\\d+)");
+
+    private CatalogueFile() {
+    }
+
+    static void read(Path file, List<FakePlugin> result, List<String> errors) {
+        boolean csv = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".csv");
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (csv) {
+                readCsv(reader, result, errors);
+            } else {
+                readJsonLines(reader, result, errors);
+            }
+        } catch (IOException e) {
+            errors.add(file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void readJsonLines(BufferedReader reader, List<FakePlugin> result, List<String> errors)
+            throws IOException {
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            if (isSkipped(line)) {
+                continue;
+            }
+            try {
+                FakePlugin plugin = parseJson(line);
+                if (plugin == null) {
+                    errors.add("line " + number + ": missing \"name\"");
+                } else {
+                    result.add(plugin);
+                }
+            } catch (IOException | IllegalStateException | NumberFormatException e) {
+                errors.add("line " + number + ": " + describe(e));
+            }
+        }
+    }
+
+    private static String describe(Exception e) {
+        String message = String.valueOf(e.getMessage());
+        Matcher column = ERROR_COLUMN.matcher(message);
+        if (column.find()) {
+            return "malformed JSON at column " + column.group(1);
+        }
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    private static FakePlugin parseJson(String line) throws IOException {
+        String name = "";
+        boolean enabled = true;
+        String version = "";
+        String description = "";
+        List<String> authors = new ArrayList<>();
+        PluginCategory category = PluginCategory.BUKKIT;
+        try (JsonReader json = new JsonReader(new StringReader(line))) {
+            json.beginObject();
+            while (json.hasNext()) {
+                String field = json.nextName();
+                if (json.peek() == JsonToken.NULL) {
+                    json.nextNull();
+                    continue;
+                }
+                switch (field) {
+                    case "name":
+                        name = json.nextString().trim();
+                        break;
+                    case "enabled":
+                        enabled = json.peek() == JsonToken.BOOLEAN
+                                ? json.nextBoolean()
+                                : Boolean.parseBoolean(json.nextString().trim());
+                        break;
+                    case "version":
+                        version = json.nextString().trim();
+                        break;
+                    case "description":
+                        description = json.nextString().trim();
+                        break;
+                    case "category":
+                        category = PluginCategory.of(json.nextString().trim());
+                        break;
+                    case "authors":
+                        if (json.peek() != JsonToken.BEGIN_ARRAY) {
+                            addAuthor(authors, json.nextString());
+                            break;
+                        }
+                        json.beginArray();
+                        while (json.hasNext()) {
+                            addAuthor(authors, json.nextString());
+                        }
+                        json.endArray();
+                        break;
+                    default:
+                        json.skipValue();
+                        break;
+                }
+            }
+            json.endObject();
+            if (json.peek() != JsonToken.END_DOCUMENT) {
+                throw new IllegalStateException("unexpected content after the entry");
+            }
+        }
+        if (name.isEmpty()) {
+            return null;
+        }
+        return new FakePlugin(name, enabled, version, description, authors, category);
+    }
+
+    private static void readCsv(BufferedReader reader, List<FakePlugin> result, List<String> errors)
+            throws IOException {
+        int[] columns = {0, 1, 2, 3, 4, 5};
+        boolean first = true;
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            if (isSkipped(line)) {
+                continue;
+            }
+            List<String> fields = splitCsv(line);
+            if (fields == null) {
+                errors.add("line " + number + ": unterminated quoted field");
+                continue;
+            }
+            if (first) {
+                first = false;
+                if ("name".equalsIgnoreCase(fields.get(0).trim())) {
+                    columns = headerColumns(fields);
+                    continue;
+                }
+            }
+            String name = field(fields, columns[0]);
+            if (name.isEmpty()) {
+                errors.add("line " + number + ": missing name");
+                continue;
+            }
+            String enabled = field(fields, columns[2]);
+            List<String> authors = new ArrayList<>();
+            for (String author : field(fields, columns[5]).split(";")) {
+                addAuthor(authors, author);
+            }
+            result.add(new FakePlugin(name,
+                    enabled.isEmpty() || Boolean.parseBoolean(enabled),
+                    field(fields, columns[3]),
+                    field(fields, columns[4]),
+                    authors,
+                    PluginCategory.of(field(fields, columns[1]))));
+        }
+    }
+
+    private static int[] headerColumns(List<String> header) {
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = -1;
+        }
+        for (int i = 0; i < header.size(); i++) {
+            int column = CSV_COLUMNS.indexOf(header.get(i).trim().toLowerCase(Locale.ROOT));
+            if (column >= 0) {
+                columns[column] = i;
+            }
+        }
+        return columns;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    private static void addAuthor(List<String> authors, String author) {
+        String text = author.trim();
+        if (!text.isEmpty()) {
+            authors.add(text);
+        }
+    }
+
+    private static boolean isSkipped(String line) {
+        String text = line.trim();
+        return text.isEmpty() || text.startsWith("#");
+    }
+}
@@ -0,0 +1,63 @@
+package com.fakeplugins.fakepluginslist;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class CataloguePool {
+
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<List<String>, List<String>> authorLists = new HashMap<>();
+    private long savedBytes;
+
+    FakePlugin compact(FakePlugin plugin) {
+        return new FakePlugin(string(plugin.name), plugin.enabled, string(plugin.version),
+                string(plugin.description), authors(plugin.authors), plugin.category);
+    }
+
+    long savedBytes() {
+        return savedBytes;
+    }
+
+    private String string(String value) {
+        String shared = strings.putIfAbsent(value, value);
+        if (shared == null) {
+            return value;
+        }
+        if (shared != value) {
+            savedBytes += stringSize(value);
+        }
+        return shared;
+    }
+
+    private List<String> authors(List<String> authors) {
+        if (authors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String[] interned = new String[authors.size()];
+        for (int i = 0; i < interned.length; i++) {
+            interned[i] = string(authors.get(i));
+        }
+        List<String> list = Collections.unmodifiableList(Arrays.asList(interned));
+        List<String> shared = authorLists.putIfAbsent(list, list);
+        if (shared == null) {
+            return list;
+        }
+        savedBytes += listSize(authors);
+        return shared;
+    }
+
+    private static long stringSize(String value) {
+        return align(24) + align(16 + value.length());
+    }
+
+    private static long listSize(List<String> list) {
+        return align(24) + align(16 + 4L * list.size());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
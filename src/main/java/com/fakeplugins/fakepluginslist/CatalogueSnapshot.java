@@ -0,0 +1,258 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+final class CatalogueSnapshot {
+
+    static final String FILE_NAME = "catalogue.bin";
+
+    private static final int MAGIC = 0x46504C43;
+    private static final int FORMAT = 2;
+    private static final PluginCategory[] CATEGORIES = PluginCategory.values();
+
+    private final Path file;
+    private final String key;
+    private final Map<String, Catalogue> catalogues;
+    final boolean loaded;
+    long fullLoadNanos;
+    private boolean changed;
+
+    private CatalogueSnapshot(Path file, String key, Map<String, Catalogue> catalogues, boolean loaded,
+                              long fullLoadNanos) {
+        this.file = file;
+        this.key = key;
+        this.catalogues = catalogues;
+        this.loaded = loaded;
+        this.fullLoadNanos = fullLoadNanos;
+    }
+
+    static CatalogueSnapshot open(byte[] configBytes, ConfigurationSection config, Path dataFolder,
+                                  String pluginVersion) throws IOException {
+        Path file = dataFolder.resolve(FILE_NAME);
+        String key = hash(configBytes, config, dataFolder, pluginVersion);
+        byte[] data;
+        try {
+            data = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return new CatalogueSnapshot(file, key, new LinkedHashMap<>(), false, 0L);
+        }
+        CatalogueSnapshot snapshot = read(file, data, key);
+        return snapshot == null ? new CatalogueSnapshot(file, key, new LinkedHashMap<>(), false, 0L) : snapshot;
+    }
+
+    static String withoutPlugins(String yaml) {
+        StringBuilder kept = new StringBuilder(yaml.length());
+        boolean skipping = false;
+        int start = 0;
+        while (start < yaml.length()) {
+            int end = yaml.indexOf('\n', start);
+            end = end < 0 ? yaml.length() : end + 1;
+            char first = yaml.charAt(start);
+            if (first != ' ' && first != '\t' && first != '#' && first != '-' && first != '\r' && first != '\n') {
+                skipping = yaml.startsWith("plugins:", start);
+            }
+            if (!skipping) {
+                kept.append(yaml, start, end);
+            }
+            start = end;
+        }
+        return kept.toString();
+    }
+
+    Catalogue get(String scope) {
+        return catalogues.get(scope);
+    }
+
+    void put(String scope, Catalogue catalogue) {
+        catalogues.put(scope, catalogue);
+        changed = true;
+    }
+
+    boolean changed() {
+        return changed;
+    }
+
+    void save() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            writeString(out, key);
+            out.writeLong(fullLoadNanos);
+            out.writeInt(catalogues.size());
+            for (Map.Entry<String, Catalogue> entry : catalogues.entrySet()) {
+                writeString(out, entry.getKey());
+                Catalogue catalogue = entry.getValue();
+                out.writeInt(catalogue.plugins.size());
+                for (FakePlugin plugin : catalogue.plugins) {
+                    writeString(out, plugin.name);
+                    out.writeBoolean(plugin.enabled);
+                    writeString(out, plugin.version);
+                    writeString(out, plugin.description);
+                    writeStrings(out, plugin.authors);
+                    out.writeByte(plugin.category.ordinal());
+                }
+                writeStrings(out, catalogue.errors);
+                writeStrings(out, catalogue.duplicates);
+            }
+        }
+        Files.createDirectories(file.getParent());
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        changed = false;
+    }
+
+    private static CatalogueSnapshot read(Path file, byte[] data, String key) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT || !key.equals(readString(in))) {
+                return null;
+            }
+            long fullLoadNanos = in.readLong();
+            int scopes = in.readInt();
+            Map<String, Catalogue> catalogues = new LinkedHashMap<>();
+            for (int i = 0; i < scopes; i++) {
+                String scope = readString(in);
+                int count = in.readInt();
+                if (count < 0 || count > in.available()) {
+                    return null;
+                }
+                FakePlugin[] plugins = new FakePlugin[count];
+                for (int j = 0; j < plugins.length; j++) {
+                    String name = readString(in);
+                    boolean enabled = in.readBoolean();
+                    String version = readString(in);
+                    String description = readString(in);
+                    List<String> authors = readStrings(in);
+                    int category = in.readUnsignedByte();
+                    if (category >= CATEGORIES.length) {
+                        return null;
+                    }
+                    plugins[j] = new FakePlugin(name, enabled, version, description, authors, CATEGORIES[category]);
+                }
+                catalogues.put(scope, new Catalogue(Arrays.asList(plugins), readStrings(in), readStrings(in)));
+            }
+            return new CatalogueSnapshot(file, key, catalogues, true, fullLoadNanos);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String hash(byte[] configBytes, ConfigurationSection config, Path dataFolder,
+                               String pluginVersion) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+        digest.update((FORMAT + "|" + pluginVersion).getBytes(StandardCharsets.UTF_8));
+        digest.update(configBytes);
+        for (String catalogue : catalogueFiles(config)) {
+            digest.update(catalogue.getBytes(StandardCharsets.UTF_8));
+            digest.update(stamp(dataFolder.resolve(catalogue)).getBytes(StandardCharsets.UTF_8));
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static TreeSet<String> catalogueFiles(ConfigurationSection config) {
+        TreeSet<String> files = new TreeSet<>();
+        String root = config.getString("catalogue_file", "");
+        if (!root.isEmpty()) {
+            files.add(root);
+        }
+        ConfigurationSection profiles = config.getConfigurationSection("profiles");
+        if (profiles != null) {
+            for (String name : profiles.getKeys(false)) {
+                String catalogue = profiles.getString(name + ".catalogue_file", "");
+                if (!catalogue.isEmpty()) {
+                    files.add(catalogue);
+                }
+            }
+        }
+        return files;
+    }
+
+    private static String stamp(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return "|missing";
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > in.available()) {
+            throw new IOException("truncated list");
+        }
+        if (size == 0) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("truncated string");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static final class Catalogue {
+        final List<FakePlugin> plugins;
+        final List<String> errors;
+        final List<String> duplicates;
+
+        Catalogue(List<FakePlugin> plugins, List<String> errors, List<String> duplicates) {
+            this.plugins = plugins;
+            this.errors = errors;
+            this.duplicates = duplicates;
+        }
+    }
+}
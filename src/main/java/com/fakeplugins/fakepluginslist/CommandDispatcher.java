@@ -0,0 +1,273 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+final class CommandDispatcher {
+
+    private static final int COMPLETION_LIMIT = 100;
+
+    private final Plugin owner;
+    private final PluginManager pluginManager;
+    private final Component versionHeader;
+    private final Consumer<CommandSender> reload;
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<RealPluginsView> realView = new AtomicReference<>();
+    private final AtomicInteger pluginsGeneration = new AtomicInteger();
+    private final RateLimiter rateLimiter = new RateLimiter();
+    final Metrics metrics = new Metrics();
+    volatile AuditLog audit;
+
+    CommandDispatcher(Plugin owner, PluginManager pluginManager, Component versionHeader,
+                      Consumer<CommandSender> reload) {
+        this.owner = owner;
+        this.pluginManager = pluginManager;
+        this.versionHeader = versionHeader;
+        this.reload = reload;
+    }
+
+    ConfigSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    ConfigSnapshot publish(ConfigSnapshot next) {
+        ConfigSnapshot previous = snapshot.getAndSet(next);
+        rateLimiter.apply(next.rateLimit);
+        return previous;
+    }
+
+    void pluginsChanged() {
+        pluginsGeneration.incrementAndGet();
+        realView.set(null);
+    }
+
+    void evict(UUID uniqueId) {
+        rateLimiter.evict(uniqueId);
+        snapshot.get().evictPlayer(uniqueId);
+    }
+
+    boolean executePlugins(CommandSender sender, String label, String[] args) {
+        if (args.length > 0 && "reload".equalsIgnoreCase(args[0])) {
+            if (!sender.hasPermission(FakePluginsList.RELOAD_PERMISSION)) {
+                sender.sendMessage(TextFormat.parseText("<red>You do not have permission to do that.</red>"));
+                return true;
+            }
+            reload.accept(sender);
+            return true;
+        }
+        long started = System.nanoTime();
+        try {
+            boolean allowed = allow(sender);
+            audit(sender, label, args, allowed);
+            if (!allowed) {
+                return true;
+            }
+            if (args.length > 0 && "info".equalsIgnoreCase(args[0])) {
+                sendPluginInfo(sender, joinArgs(args, 1));
+                return true;
+            }
+            if (args.length > 0 && "page".equalsIgnoreCase(args[0])) {
+                sendPluginsPage(sender, joinArgs(args, 1));
+                return true;
+            }
+            sendPluginsList(sender, 1);
+            return true;
+        } finally {
+            metrics.record(Metrics.Timer.PLUGINS_COMMAND, System.nanoTime() - started);
+        }
+    }
+
+    boolean executeVersion(CommandSender sender, String label, String[] args) {
+        long started = System.nanoTime();
+        try {
+            boolean allowed = allow(sender);
+            audit(sender, label, args, allowed);
+            if (!allowed) {
+                return true;
+            }
+            if (args.length > 0) {
+                sendVersionPluginInfo(sender, joinArgs(args, 0));
+                return true;
+            }
+            sendVersionInfo(sender);
+            return true;
+        } finally {
+            metrics.record(Metrics.Timer.VERSION_COMMAND, System.nanoTime() - started);
+        }
+    }
+
+    List<String> completePlugins(CommandSender sender, String[] args) {
+        if (args.length == 1) {
+            List<String> completions = new ArrayList<>();
+            String prefix = args[0].toLowerCase(Locale.ROOT);
+            if ("info".startsWith(prefix)) {
+                completions.add("info");
+            }
+            if ("page".startsWith(prefix) && snapshot.get().forSender(sender).paged()) {
+                completions.add("page");
+            }
+            if ("reload".startsWith(prefix) && sender.hasPermission(FakePluginsList.RELOAD_PERMISSION)) {
+                completions.add("reload");
+            }
+            return completions;
+        }
+        if (args.length == 2 && "info".equalsIgnoreCase(args[0])) {
+            return snapshot.get().forSender(sender).index.complete(args[1], COMPLETION_LIMIT);
+        }
+        if (args.length == 2 && "page".equalsIgnoreCase(args[0])) {
+            List<String> completions = new ArrayList<>();
+            int pages = snapshot.get().forSender(sender).pageCount();
+            for (int page = 1; page <= pages && completions.size() < COMPLETION_LIMIT; page++) {
+                String number = String.valueOf(page);
+                if (number.startsWith(args[1])) {
+                    completions.add(number);
+                }
+            }
+            return completions;
+        }
+        return Collections.emptyList();
+    }
+
+    List<String> completeVersion(CommandSender sender, String[] args) {
+        if (args.length == 1) {
+            return snapshot.get().forSender(sender).index.complete(args[0], COMPLETION_LIMIT);
+        }
+        return Collections.emptyList();
+    }
+
+    void sendPluginsList(CommandSender sender, int page) {
+        ConfigSnapshot current = snapshot.get().forSender(sender);
+        if (current.canViewReal(sender)) {
+            metrics.increment(Metrics.Counter.REAL_VIEW);
+            sender.sendMessage(realView().pluginsList(current));
+            return;
+        }
+        metrics.increment(Metrics.Counter.FAKE_VIEW);
+        metrics.increment(Metrics.Counter.LIST_MESSAGES);
+        if (current.paged()) {
+            metrics.add(Metrics.Counter.LIST_BYTES, current.pageBytes(page));
+            sender.sendMessage(current.page(page));
+            return;
+        }
+        metrics.add(Metrics.Counter.LIST_BYTES, current.listBytes);
+        sender.sendMessage(current.pluginsList(sender, metrics));
+    }
+
+    private void sendPluginsPage(CommandSender sender, String page) {
+        try {
+            sendPluginsList(sender, Integer.parseInt(page.trim()));
+        } catch (NumberFormatException e) {
+            sender.sendMessage(TextFormat.parseText("<red>Please specify a page number.</red>"));
+        }
+    }
+
+    private void sendPluginInfo(CommandSender sender, String name) {
+        if (name == null || name.isEmpty()) {
+            sender.sendMessage(TextFormat.parseText("<red>Please specify a plugin name.</red>"));
+            return;
+        }
+        metrics.increment(Metrics.Counter.FAKE_VIEW);
+        CompiledPlugin target = snapshot.get().forSender(sender).findPlugin(name);
+        if (target == null) {
+            sender.sendMessage(TextFormat.parseText("<red>Plugin not found.</red>"));
+            return;
+        }
+        sender.sendMessage(target.info);
+    }
+
+    private void sendVersionInfo(CommandSender sender) {
+        ConfigSnapshot current = snapshot.get().forSender(sender);
+        if (current.canViewReal(sender)) {
+            metrics.increment(Metrics.Counter.REAL_VIEW);
+            sender.sendMessage(realView().versionInfo(versionHeader));
+        } else {
+            metrics.increment(Metrics.Counter.FAKE_VIEW);
+            sender.sendMessage(current.versionInfo(sender, versionHeader, metrics));
+        }
+        if (current.versionCheck != null) {
+            current.versionCheck.send(owner, sender);
+        }
+    }
+
+    private void sendVersionPluginInfo(CommandSender sender, String name) {
+        if (name == null || name.isEmpty()) {
+            sender.sendMessage(TextFormat.parseText("<red>Please specify a plugin name.</red>"));
+            return;
+        }
+        ConfigSnapshot current = snapshot.get().forSender(sender);
+        if (current.canViewReal(sender)) {
+            Plugin real = pluginManager.getPlugin(name);
+            if (real != null) {
+                String version = real.getDescription().getVersion();
+                String output = "&a" + real.getDescription().getName() + " &fversion &a"
+                        + (version == null || version.isEmpty() ? "Unknown" : version);
+                metrics.increment(Metrics.Counter.REAL_VIEW);
+                sender.sendMessage(TextFormat.parseText(output));
+                return;
+            }
+        }
+        metrics.increment(Metrics.Counter.FAKE_VIEW);
+        CompiledPlugin target = current.findPlugin(name);
+        if (target == null) {
+            sender.sendMessage(TextFormat.parseText("<red>This server is not running any plugin by that name.</red>"));
+            return;
+        }
+        sender.sendMessage(target.versionLine);
+    }
+
+    private RealPluginsView realView() {
+        RealPluginsView view = realView.get();
+        int generation = pluginsGeneration.get();
+        if (view != null && view.generation == generation) {
+            metrics.increment(Metrics.Counter.REAL_CACHE_HIT);
+            return view;
+        }
+        metrics.increment(Metrics.Counter.REAL_CACHE_MISS);
+        RealPluginsView built = new RealPluginsView(pluginManager.getPlugins(), generation);
+        realView.compareAndSet(view, built);
+        return built;
+    }
+
+    private boolean allow(CommandSender sender) {
+        if (rateLimiter.allow(sender)) {
+            return true;
+        }
+        metrics.increment(Metrics.Counter.THROTTLED);
+        return false;
+    }
+
+    private void audit(CommandSender sender, String label, String[] args, boolean allowed) {
+        AuditLog log = audit;
+        if (log == null) {
+            return;
+        }
+        AuditLog.View view = !allowed ? AuditLog.View.THROTTLED
+                : snapshot.get().forSender(sender).canViewReal(sender) ? AuditLog.View.REAL : AuditLog.View.FAKE;
+        log.record(sender, label, args, view);
+    }
+
+    private static String joinArgs(String[] args, int startIndex) {
+        if (args == null || args.length <= startIndex) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder();
+        for (int i = startIndex; i < args.length; i++) {
+            if (i > startIndex) {
+                builder.append(' ');
+            }
+            builder.append(args[i]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,83 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.command.Command;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class CommandRegistrations {
+
+    private final Map<String, Registration> registered = new ConcurrentHashMap<>();
+
+    static Diff diff(List<String> previous, List<String> next) {
+        Set<String> before = new HashSet<>();
+        for (String commandName : previous) {
+            before.add(commandName.toLowerCase(Locale.ROOT));
+        }
+        Set<String> after = new HashSet<>();
+        List<String> added = new ArrayList<>();
+        for (String commandName : next) {
+            String key = commandName.toLowerCase(Locale.ROOT);
+            if (after.add(key) && !before.contains(key)) {
+                added.add(commandName);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String commandName : previous) {
+            String key = commandName.toLowerCase(Locale.ROOT);
+            if (!after.contains(key) && before.remove(key)) {
+                removed.add(commandName);
+            }
+        }
+        return new Diff(added, removed);
+    }
+
+    void add(String commandName, Command command, List<String> keys) {
+        registered.put(commandName.toLowerCase(Locale.ROOT), new Registration(command, keys));
+    }
+
+    List<String> names() {
+        return new ArrayList<>(registered.keySet());
+    }
+
+    void remove(List<String> commandNames, Map<String, Command> knownCommands) {
+        for (String commandName : commandNames) {
+            Registration removed = registered.remove(commandName.toLowerCase(Locale.ROOT));
+            if (removed == null || knownCommands == null) {
+                continue;
+            }
+            for (String key : removed.keys) {
+                knownCommands.remove(key, removed.command);
+            }
+        }
+    }
+
+    static final class Diff {
+        final List<String> added;
+        final List<String> removed;
+
+        private Diff(List<String> added, List<String> removed) {
+            this.added = added;
+            this.removed = removed;
+        }
+
+        boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private static final class Registration {
+        private final Command command;
+        private final List<String> keys;
+
+        private Registration(Command command, List<String> keys) {
+            this.command = command;
+            this.keys = keys;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.PluginIdentifiableCommand;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+final class CommandTreeFilter {
+
+    private final Set<String> keptNamespaces;
+    private final boolean hidePluginCommands;
+    private final Set<String> keptCommands;
+
+    private CommandTreeFilter(Set<String> keptNamespaces, boolean hidePluginCommands, Set<String> keptCommands) {
+        this.keptNamespaces = keptNamespaces;
+        this.hidePluginCommands = hidePluginCommands;
+        this.keptCommands = keptCommands;
+    }
+
+    static CommandTreeFilter load(ConfigurationSection config) {
+        if (config == null || !config.getBoolean("enabled", false)) {
+            return null;
+        }
+        return new CommandTreeFilter(
+                lowerCase(config.getStringList("keep_namespaces")),
+                config.getBoolean("hide_plugin_commands", true),
+                lowerCase(config.getStringList("keep_commands")));
+    }
+
+    Set<String> hidden(Map<String, Command> knownCommands) {
+        Set<String> hidden = new HashSet<>();
+        for (Map.Entry<String, Command> entry : knownCommands.entrySet()) {
+            String label = entry.getKey();
+            int namespace = label.indexOf(':');
+            if (namespace >= 0) {
+                if (!keptNamespaces.contains(label.substring(0, namespace))) {
+                    hidden.add(label);
+                }
+            } else if (hidePluginCommands && entry.getValue() instanceof PluginIdentifiableCommand
+                    && !keptCommands.contains(label)) {
+                hidden.add(label);
+            }
+        }
+        return Collections.unmodifiableSet(hidden);
+    }
+
+    private static Set<String> lowerCase(List<String> values) {
+        Set<String> result = new HashSet<>();
+        for (String value : values) {
+            result.add(value.toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+}
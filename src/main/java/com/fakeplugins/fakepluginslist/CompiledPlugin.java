@@ -0,0 +1,59 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+
+final class CompiledPlugin {
+
+    final FakePlugin plugin;
+    final Component hover;
+    final Component info;
+    final ClickEvent click;
+    final Component nameComponent;
+    final Component listEntry;
+    final Component compactEntry;
+    final Component versionLine;
+
+    CompiledPlugin(FakePlugin plugin, String primaryCommand) {
+        this.plugin = plugin;
+        this.hover = buildHoverText(plugin);
+        this.info = buildInfoText(plugin, hover);
+        this.click = ClickEvent.runCommand("/" + primaryCommand + " info " + plugin.name);
+        this.nameComponent = Component.text(plugin.name,
+                plugin.enabled ? NamedTextColor.GREEN : NamedTextColor.RED);
+        this.listEntry = nameComponent
+                .hoverEvent(HoverEvent.showText(hover))
+                .clickEvent(click);
+        this.compactEntry = nameComponent.clickEvent(click);
+        this.versionLine = TextFormat.parseText("&a" + plugin.name + " &fversion &a"
+                + (plugin.version.isEmpty() ? "Unknown" : plugin.version));
+    }
+
+    private static Component buildHoverText(FakePlugin plugin) {
+        Component version = TextFormat.parseText(plugin.version.isEmpty()
+                ? "&fVersion: &7Unknown"
+                : "&fVersion: &a" + plugin.version);
+        Component description = TextFormat.parseText(plugin.description.isEmpty()
+                ? "&fDescription: &7No description"
+                : "&fDescription: &a" + plugin.description);
+        Component author = TextFormat.parseText(plugin.authors.isEmpty()
+                ? "&fAuthor: &7Unknown"
+                : "&fAuthor: &a" + String.join(", ", plugin.authors));
+
+        return Component.empty()
+                .append(version)
+                .append(Component.newline())
+                .append(description)
+                .append(Component.newline())
+                .append(author);
+    }
+
+    private static Component buildInfoText(FakePlugin plugin, Component hover) {
+        return Component.empty()
+                .append(TextFormat.parseText("&6" + plugin.name))
+                .append(Component.newline())
+                .append(hover);
+    }
+}
@@ -0,0 +1,625 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class ConfigSnapshot {
+
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[0]);
+
+    final List<String> commands;
+    final Set<String> commandLabels;
+    final String primaryCommand;
+    final String serverHeader;
+    final String paperHeader;
+    final String bukkitHeader;
+    final String realListPermission;
+    final boolean showDisabledPlugins;
+    final boolean randomOrder;
+    final int randomOrderPoolSize;
+    final boolean randomOrderPoolRandom;
+    final RateLimiter.Settings rateLimit;
+    private final PlayerOrderCache playerOrders;
+    final VersionCheck versionCheck;
+    final CommandTreeFilter commandTree;
+    volatile Set<String> hiddenCommands;
+    final int statsFileInterval;
+    final long statsFileMaxBytes;
+    final long watchDebounceMillis;
+    final int auditBufferSize;
+    final long auditFlushMillis;
+    final long auditMaxBytes;
+    final boolean listHover;
+    private final int listByteBudget;
+    final String catalogueFile;
+
+    final DuplicateRule duplicateRule;
+    final List<String> duplicateNames;
+    final long catalogueSavedBytes;
+    final List<String> catalogueErrors;
+    final CompiledPlugin[] entries;
+    private final int[] visibleIndexes;
+    private final int[][] categoryIndexes;
+    private final int[] categoryTotal;
+    private final int[] categoryEnabled;
+    final PluginIndex index;
+    final HeaderTemplate serverHeaderTemplate;
+    private final HeaderTemplate serverHeaderLine;
+    private final HeaderTemplate paperHeaderLine;
+    private final HeaderTemplate bukkitHeaderLine;
+    private final MessagePool pluginsListPool;
+    private final MessagePool paperLinePool;
+    private final MessagePool bukkitLinePool;
+    private final MessagePool versionLinePool;
+    private final boolean liveHeaders;
+    private final ProfileSelector profiles;
+    private final Page[] pages;
+    final int listBytes;
+
+    private ConfigSnapshot(ConfigurationSection config, Path dataFolder, PlaceholderRegistry placeholders,
+                           CatalogueSnapshot catalogues, String scope) {
+        List<String> commandNames = new ArrayList<>(config.getStringList("commands"));
+        if (commandNames.isEmpty()) {
+            commandNames.add("plugins");
+        }
+        commands = Collections.unmodifiableList(commandNames);
+        primaryCommand = commands.get(0);
+        Set<String> labels = new HashSet<>();
+        for (String command : commands) {
+            labels.add(PluginIndex.key(command));
+        }
+        commandLabels = Collections.unmodifiableSet(labels);
+        serverHeader = config.getString("server_header", "&f? Server Plugins (&f%count%&f)");
+        paperHeader = config.getString("paper_header", "&bPaper Plugins (&f%count%&f):");
+        bukkitHeader = config.getString("bukkit_header", "&6Bukkit Plugins (&f%count%&f):");
+        realListPermission = config.getString("real_list_permission", "fakepluginslist.real");
+        showDisabledPlugins = config.getBoolean("show_disabled_plugins", true);
+        randomOrder = config.getBoolean("random_order", true);
+        randomOrderPoolSize = Math.max(0, config.getInt("random_order_pool_size", 0));
+        randomOrderPoolRandom = "random".equalsIgnoreCase(config.getString("random_order_pool_mode", "round_robin"));
+        rateLimit = RateLimiter.load(config.getConfigurationSection("rate_limit"));
+        playerOrders = randomOrder ? PlayerOrderCache.load(config.getConfigurationSection("per_player_order")) : null;
+        versionCheck = VersionCheck.load(config.getConfigurationSection("version_check"));
+        commandTree = CommandTreeFilter.load(config.getConfigurationSection("command_tree"));
+        statsFileInterval = config.getBoolean("stats_file.enabled", false)
+                ? Math.max(1, config.getInt("stats_file.interval_seconds", 300))
+                : 0;
+        statsFileMaxBytes = Math.max(0L, config.getLong("stats_file.max_kilobytes", 1024L)) * 1024L;
+        watchDebounceMillis = config.getBoolean("watch_config.enabled", false)
+                ? Math.max(50L, config.getLong("watch_config.debounce_millis", 1000L))
+                : 0L;
+        auditBufferSize = config.getBoolean("audit_log.enabled", false)
+                ? Math.max(16, config.getInt("audit_log.buffer_size", 4096))
+                : 0;
+        auditFlushMillis = Math.max(100L, config.getLong("audit_log.flush_interval_millis", 1000L));
+        auditMaxBytes = Math.max(0L, config.getLong("audit_log.max_kilobytes", 4096L)) * 1024L;
+        catalogueFile = config.getString("catalogue_file", "");
+        listHover = config.getBoolean("list_output.hover", true);
+        listByteBudget = Math.max(0, config.getInt("list_output.max_message_bytes", 0));
+        duplicateRule = DuplicateRule.of(config.getString("duplicate_plugins", "first"));
+        CatalogueSnapshot.Catalogue catalogue = catalogues == null ? null : catalogues.get(scope);
+        if (catalogue == null) {
+            List<String> errors = new ArrayList<>();
+            List<FakePlugin> loaded = loadPlugins(config, catalogueFile, dataFolder, errors);
+            List<String> duplicates = new ArrayList<>();
+            catalogue = new CatalogueSnapshot.Catalogue(dropDuplicates(loaded, duplicateRule, duplicates),
+                    errors, duplicates);
+            if (catalogues != null) {
+                catalogues.put(scope, catalogue);
+            }
+        }
+        catalogueErrors = Collections.unmodifiableList(catalogue.errors);
+        duplicateNames = Collections.unmodifiableList(catalogue.duplicates);
+        List<FakePlugin> plugins = new ArrayList<>(catalogue.plugins);
+        CataloguePool pool = new CataloguePool();
+        for (int i = 0; i < plugins.size(); i++) {
+            plugins.set(i, pool.compact(plugins.get(i)));
+        }
+        catalogueSavedBytes = pool.savedBytes();
+
+        int categories = PluginCategory.values().length;
+        entries = new CompiledPlugin[plugins.size()];
+        categoryTotal = new int[categories];
+        categoryEnabled = new int[categories];
+        for (int i = 0; i < entries.length; i++) {
+            FakePlugin plugin = plugins.get(i);
+            entries[i] = new CompiledPlugin(plugin, primaryCommand);
+            categoryTotal[plugin.category.ordinal()]++;
+            if (plugin.enabled) {
+                categoryEnabled[plugin.category.ordinal()]++;
+            }
+        }
+        categoryIndexes = new int[categories][];
+        for (PluginCategory category : PluginCategory.values()) {
+            categoryIndexes[category.ordinal()] = new int[visibleCount(category)];
+        }
+        int[] filled = new int[categories];
+        int visible = 0;
+        for (PluginCategory category : PluginCategory.values()) {
+            visible += visibleCount(category);
+        }
+        visibleIndexes = new int[visible];
+        visible = 0;
+        for (int i = 0; i < entries.length; i++) {
+            FakePlugin plugin = entries[i].plugin;
+            if (!plugin.enabled && !showDisabledPlugins) {
+                continue;
+            }
+            visibleIndexes[visible++] = i;
+            int category = plugin.category.ordinal();
+            categoryIndexes[category][filled[category]++] = i;
+        }
+        index = new PluginIndex(entries, visibleIndexes);
+        int visibleEnabled = 0;
+        for (int enabled : categoryEnabled) {
+            visibleEnabled += enabled;
+        }
+        serverHeaderTemplate = HeaderTemplate.compile(serverHeader, placeholders);
+        serverHeaderLine = serverHeaderTemplate.bindCounts(visibleIndexes.length, visibleEnabled);
+        paperHeaderLine = HeaderTemplate.compile(paperHeader, placeholders).bindCounts(
+                visibleCount(PluginCategory.PAPER), categoryEnabled[PluginCategory.PAPER.ordinal()]);
+        bukkitHeaderLine = HeaderTemplate.compile(bukkitHeader, placeholders).bindCounts(
+                visibleCount(PluginCategory.BUKKIT), categoryEnabled[PluginCategory.BUKKIT.ordinal()]);
+        liveHeaders = serverHeaderLine.isLive() || paperHeaderLine.isLive() || bukkitHeaderLine.isLive();
+
+        pages = listByteBudget > 0 ? buildPages() : null;
+        int poolSize = randomOrder ? randomOrderPoolSize : 1;
+        if (pages != null) {
+            pluginsListPool = null;
+            paperLinePool = null;
+            bukkitLinePool = null;
+            versionLinePool = poolSize == 0 ? null : buildVersionLinePool(poolSize);
+        } else if (poolSize == 0) {
+            pluginsListPool = null;
+            paperLinePool = null;
+            bukkitLinePool = null;
+            versionLinePool = null;
+        } else {
+            Component[] lists = new Component[poolSize];
+            Component[] paperLines = new Component[poolSize];
+            Component[] bukkitLines = new Component[poolSize];
+            for (int i = 0; i < poolSize; i++) {
+                paperLines[i] = buildPluginsLine(PluginCategory.PAPER);
+                bukkitLines[i] = buildPluginsLine(PluginCategory.BUKKIT);
+                lists[i] = buildPluginsList(paperLines[i], bukkitLines[i]);
+            }
+            pluginsListPool = liveHeaders ? null : new MessagePool(lists, randomOrderPoolRandom);
+            paperLinePool = liveHeaders ? new MessagePool(paperLines, randomOrderPoolRandom) : null;
+            bukkitLinePool = liveHeaders ? new MessagePool(bukkitLines, randomOrderPoolRandom) : null;
+            versionLinePool = buildVersionLinePool(poolSize);
+        }
+        listBytes = pages != null ? pages[0].bytes : TextFormat.serializedBytes(pluginsList());
+        profiles = ProfileSelector.load(config, dataFolder, placeholders, catalogues);
+    }
+
+    static ConfigSnapshot load(ConfigurationSection config, Path dataFolder, CatalogueSnapshot catalogues) {
+        return load(config, dataFolder, PlaceholderRegistry.withDefaults(), catalogues, "");
+    }
+
+    static ConfigSnapshot load(ConfigurationSection config, Path dataFolder, PlaceholderRegistry placeholders,
+                               CatalogueSnapshot catalogues, String scope) {
+        return new ConfigSnapshot(config, dataFolder, placeholders, catalogues, scope);
+    }
+
+    ConfigSnapshot forSender(CommandSender sender) {
+        if (profiles == null) {
+            return this;
+        }
+        ConfigSnapshot profile = profiles.select(sender);
+        return profile == null ? this : profile;
+    }
+
+    List<ProfileSelector.Profile> profiles() {
+        return profiles == null ? Collections.emptyList() : profiles.profiles;
+    }
+
+    boolean canViewReal(CommandSender sender) {
+        return realListPermission != null && !realListPermission.isEmpty() && sender.hasPermission(realListPermission);
+    }
+
+    boolean pooled() {
+        return versionLinePool != null;
+    }
+
+    Component pluginsList() {
+        if (pluginsListPool != null) {
+            return pluginsListPool.next();
+        }
+        Component paperLine = paperLinePool != null ? paperLinePool.next() : buildPluginsLine(PluginCategory.PAPER);
+        Component bukkitLine = bukkitLinePool != null ? bukkitLinePool.next() : buildPluginsLine(PluginCategory.BUKKIT);
+        return buildPluginsList(paperLine, bukkitLine);
+    }
+
+    Component pluginsList(CommandSender sender, Metrics metrics) {
+        PlayerOrderCache.PlayerOrder order = playerOrder(sender);
+        if (order == null) {
+            metrics.increment(pooled() ? Metrics.Counter.POOL_HIT : Metrics.Counter.POOL_MISS);
+            return pluginsList();
+        }
+        Component list = order.pluginsList;
+        if (list != null) {
+            metrics.increment(Metrics.Counter.PLAYER_ORDER_HIT);
+            return list;
+        }
+        Component paperLine = order.paperLine;
+        Component bukkitLine = order.bukkitLine;
+        if (paperLine == null || bukkitLine == null) {
+            metrics.increment(Metrics.Counter.PLAYER_ORDER_MISS);
+            paperLine = buildPluginsLine(order, PluginCategory.PAPER);
+            bukkitLine = buildPluginsLine(order, PluginCategory.BUKKIT);
+            order.paperLine = paperLine;
+            order.bukkitLine = bukkitLine;
+        } else {
+            metrics.increment(Metrics.Counter.PLAYER_ORDER_HIT);
+        }
+        list = buildPluginsList(paperLine, bukkitLine);
+        if (!liveHeaders) {
+            order.pluginsList = list;
+        }
+        return list;
+    }
+
+    boolean paged() {
+        return pages != null;
+    }
+
+    int pageCount() {
+        return pages == null ? 1 : pages.length;
+    }
+
+    Component page(int number) {
+        Page page = pages[Math.max(0, Math.min(pages.length, number) - 1)];
+        return page.message != null ? page.message : buildPage(page);
+    }
+
+    int pageBytes(int number) {
+        return pages[Math.max(0, Math.min(pages.length, number) - 1)].bytes;
+    }
+
+    Component versionPluginsLine() {
+        if (versionLinePool != null) {
+            return versionLinePool.next();
+        }
+        return buildVersionPluginsLine(order(visibleIndexes));
+    }
+
+    Component versionInfo(Component header) {
+        return versionInfo(header, versionPluginsLine());
+    }
+
+    Component versionInfo(CommandSender sender, Component header, Metrics metrics) {
+        PlayerOrderCache.PlayerOrder order = playerOrder(sender);
+        if (order == null) {
+            metrics.increment(pooled() ? Metrics.Counter.POOL_HIT : Metrics.Counter.POOL_MISS);
+            return versionInfo(header);
+        }
+        Component line = order.versionLine;
+        if (line == null) {
+            metrics.increment(Metrics.Counter.PLAYER_ORDER_MISS);
+            line = buildVersionPluginsLine(order.permute(visibleIndexes, PluginCategory.values().length));
+            order.versionLine = line;
+        } else {
+            metrics.increment(Metrics.Counter.PLAYER_ORDER_HIT);
+        }
+        return versionInfo(header, line);
+    }
+
+    void evictPlayer(UUID uniqueId) {
+        if (playerOrders != null) {
+            playerOrders.evict(uniqueId);
+        }
+        for (ProfileSelector.Profile profile : profiles()) {
+            profile.snapshot.evictPlayer(uniqueId);
+        }
+    }
+
+    private PlayerOrderCache.PlayerOrder playerOrder(CommandSender sender) {
+        if (playerOrders == null || !(sender instanceof Entity)) {
+            return null;
+        }
+        return playerOrders.get(((Entity) sender).getUniqueId());
+    }
+
+    private static Component versionInfo(Component header, Component line) {
+        return Component.text()
+                .append(header)
+                .append(Component.newline())
+                .append(line)
+                .build();
+    }
+
+    CompiledPlugin findPlugin(String name) {
+        return index.find(name);
+    }
+
+    int visibleCount(PluginCategory category) {
+        return showDisabledPlugins ? categoryTotal[category.ordinal()] : categoryEnabled[category.ordinal()];
+    }
+
+    private int[] order(int[] indexes) {
+        if (!randomOrder) {
+            return indexes;
+        }
+        int[] scratch = SCRATCH.get();
+        if (scratch.length < indexes.length) {
+            scratch = new int[indexes.length];
+            SCRATCH.set(scratch);
+        }
+        System.arraycopy(indexes, 0, scratch, 0, indexes.length);
+        shuffle(scratch, indexes.length);
+        return scratch;
+    }
+
+    static void shuffle(int[] values, int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    private Component buildPluginsList(Component paperLine, Component bukkitLine) {
+        return Component.text()
+                .append(serverHeaderLine.render())
+                .append(Component.newline())
+                .append(paperHeaderLine.render())
+                .append(Component.newline())
+                .append(paperLine)
+                .append(Component.newline())
+                .append(bukkitHeaderLine.render())
+                .append(Component.newline())
+                .append(bukkitLine)
+                .build();
+    }
+
+    private Component buildPluginsLine(PluginCategory category) {
+        int[] indexes = categoryIndexes[category.ordinal()];
+        return buildPluginsLine(order(indexes), indexes.length);
+    }
+
+    private Component buildPluginsLine(PlayerOrderCache.PlayerOrder order, PluginCategory category) {
+        int[] indexes = categoryIndexes[category.ordinal()];
+        return buildPluginsLine(order.permute(indexes, category.ordinal()), indexes.length);
+    }
+
+    private Component buildPluginsLine(int[] order, int length) {
+        if (length == 0) {
+            return TextFormat.LIST_EMPTY;
+        }
+        TextComponent.Builder line = Component.text().append(TextFormat.LIST_PREFIX);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                line.append(TextFormat.SEPARATOR);
+            }
+            line.append(listHover ? entries[order[i]].listEntry : entries[order[i]].compactEntry);
+        }
+        return line.build();
+    }
+
+    private Page[] buildPages() {
+        int separatorBytes = TextFormat.serializedBytes(TextFormat.SEPARATOR) + 1;
+        int reservedBytes = TextFormat.serializedBytes(serverHeaderLine.render())
+                + TextFormat.serializedBytes(paperHeaderLine.render())
+                + TextFormat.serializedBytes(bukkitHeaderLine.render())
+                + TextFormat.serializedBytes(TextFormat.LIST_PREFIX) * 2
+                + TextFormat.serializedBytes(pageFooter(Integer.MAX_VALUE, Integer.MAX_VALUE)) + 64;
+        int categories = PluginCategory.values().length;
+        int[][] orders = new int[categories][];
+        for (int category = 0; category < categories; category++) {
+            orders[category] = order(categoryIndexes[category]).clone();
+        }
+        List<int[][]> split = new ArrayList<>();
+        int[] from = new int[categories];
+        int used = reservedBytes;
+        boolean empty = true;
+        for (int category = 0; category < categories; category++) {
+            for (int i = 0; i < orders[category].length; i++) {
+                CompiledPlugin entry = entries[orders[category][i]];
+                int size = TextFormat.serializedBytes(listHover ? entry.listEntry : entry.compactEntry) + separatorBytes;
+                if (!empty && used + size > listByteBudget) {
+                    split.add(slice(orders, from, category, i));
+                    used = reservedBytes;
+                }
+                used += size;
+                empty = false;
+            }
+        }
+        split.add(slice(orders, from, categories, 0));
+
+        Page[] built = new Page[split.size()];
+        for (int i = 0; i < built.length; i++) {
+            int[][] page = split.get(i);
+            Component paperLine = pageLine(page, PluginCategory.PAPER, i == 0);
+            Component bukkitLine = pageLine(page, PluginCategory.BUKKIT, i == 0);
+            built[i] = new Page(paperLine, bukkitLine, pageFooter(i + 1, built.length));
+            Component message = buildPage(built[i]);
+            built[i].bytes = TextFormat.serializedBytes(message);
+            if (!liveHeaders) {
+                built[i].message = message;
+            }
+        }
+        return built;
+    }
+
+    private static int[][] slice(int[][] orders, int[] from, int category, int position) {
+        int[][] page = new int[orders.length][];
+        for (int i = 0; i < orders.length; i++) {
+            int to = i < category ? orders[i].length : i == category ? position : from[i];
+            page[i] = Arrays.copyOfRange(orders[i], from[i], to);
+            from[i] = to;
+        }
+        return page;
+    }
+
+    private Component pageLine(int[][] page, PluginCategory category, boolean first) {
+        int[] order = page[category.ordinal()];
+        if (order.length == 0) {
+            return first && categoryIndexes[category.ordinal()].length == 0 ? TextFormat.LIST_EMPTY : null;
+        }
+        return buildPluginsLine(order, order.length);
+    }
+
+    private Component pageFooter(int number, int count) {
+        TextComponent.Builder footer = Component.text()
+                .append(TextFormat.parseText("&7Page " + number + "/" + count));
+        if (number < count) {
+            footer.append(TextFormat.parseText(" &a[Next]")
+                    .clickEvent(ClickEvent.runCommand("/" + primaryCommand + " page " + (number + 1))));
+        }
+        return footer.build();
+    }
+
+    private Component buildPage(Page page) {
+        TextComponent.Builder message = Component.text().append(serverHeaderLine.render());
+        if (page.paperLine != null) {
+            message.append(Component.newline())
+                    .append(paperHeaderLine.render())
+                    .append(Component.newline())
+                    .append(page.paperLine);
+        }
+        if (page.bukkitLine != null) {
+            message.append(Component.newline())
+                    .append(bukkitHeaderLine.render())
+                    .append(Component.newline())
+                    .append(page.bukkitLine);
+        }
+        return message.append(Component.newline())
+                .append(page.footer)
+                .build();
+    }
+
+    private MessagePool buildVersionLinePool(int poolSize) {
+        Component[] versionLines = new Component[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            versionLines[i] = buildVersionPluginsLine(order(visibleIndexes));
+        }
+        return new MessagePool(versionLines, randomOrderPoolRandom);
+    }
+
+    private Component buildVersionPluginsLine(int[] order) {
+        int length = visibleIndexes.length;
+        TextComponent.Builder line = Component.text()
+                .append(TextFormat.parseText("&fPlugins (" + length + "): "));
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                line.append(TextFormat.SEPARATOR);
+            }
+            line.append(entries[order[i]].nameComponent);
+        }
+        return line.build();
+    }
+
+    private static List<FakePlugin> loadPlugins(ConfigurationSection config, String catalogue, Path dataFolder,
+                                                List<String> errors) {
+        List<FakePlugin> result = new ArrayList<>();
+        List<Map<?, ?>> entries = config.getMapList("plugins");
+        if (!entries.isEmpty() || !catalogue.isEmpty()) {
+            for (Map<?, ?> entry : entries) {
+                String name = valueAsString(entry.get("name"));
+                if (name.isEmpty()) {
+                    continue;
+                }
+                boolean enabled = valueAsBoolean(entry.get("enabled"), true);
+                String version = valueAsString(entry.get("version"));
+                String description = valueAsString(entry.get("description"));
+                List<String> authors = valueAsStringList(entry.get("authors"));
+                PluginCategory category = PluginCategory.of(valueAsString(entry.get("category")));
+                result.add(new FakePlugin(name, enabled, version, description, authors, category));
+            }
+            if (!catalogue.isEmpty()) {
+                CatalogueFile.read(dataFolder.resolve(catalogue), result, errors);
+            }
+            if (!result.isEmpty()) {
+                return result;
+            }
+        }
+
+        for (String name : config.getStringList("success_plugins")) {
+            if (!name.isEmpty()) {
+                result.add(new FakePlugin(name, true, "", "", new ArrayList<>(), PluginCategory.BUKKIT));
+            }
+        }
+        for (String name : config.getStringList("failed_plugins")) {
+            if (!name.isEmpty()) {
+                result.add(new FakePlugin(name, false, "", "", new ArrayList<>(), PluginCategory.BUKKIT));
+            }
+        }
+        return result;
+    }
+
+    private static List<FakePlugin> dropDuplicates(List<FakePlugin> loaded, DuplicateRule rule, List<String> duplicates) {
+        Map<String, FakePlugin> unique = new LinkedHashMap<>();
+        for (FakePlugin plugin : loaded) {
+            String key = PluginIndex.key(plugin.name);
+            FakePlugin kept = unique.putIfAbsent(key, plugin);
+            if (kept != null) {
+                duplicates.add(plugin.name);
+                unique.put(key, rule.resolve(kept, plugin));
+            }
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private static final class Page {
+        private final Component paperLine;
+        private final Component bukkitLine;
+        private final Component footer;
+        private Component message;
+        private int bytes;
+
+        private Page(Component paperLine, Component bukkitLine, Component footer) {
+            this.paperLine = paperLine;
+            this.bukkitLine = bukkitLine;
+            this.footer = footer;
+        }
+    }
+
+    private static String valueAsString(Object value) {
+        return value == null ? "" : String.valueOf(value).trim();
+    }
+
+    private static boolean valueAsBoolean(Object value, boolean fallback) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value == null) {
+            return fallback;
+        }
+        return Boolean.parseBoolean(String.valueOf(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> valueAsStringList(Object value) {
+        if (value instanceof List) {
+            List<String> result = new ArrayList<>();
+            for (Object entry : (List<Object>) value) {
+                if (entry != null) {
+                    String text = String.valueOf(entry).trim();
+                    if (!text.isEmpty()) {
+                        result.add(text);
+                    }
+                }
+            }
+            return result;
+        }
+        return new ArrayList<>();
+    }
+}
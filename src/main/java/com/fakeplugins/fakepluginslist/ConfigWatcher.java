@@ -0,0 +1,100 @@
+package com.fakeplugins.fakepluginslist;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+final class ConfigWatcher implements Runnable {
+
+    private final Set<Path> files;
+    private final long debounceMillis;
+    private final BooleanSupplier reload;
+    private final Logger logger;
+    private final WatchService service;
+    private final Thread thread;
+
+    private ConfigWatcher(Set<Path> files, long debounceMillis, BooleanSupplier reload, Logger logger)
+            throws IOException {
+        this.files = files;
+        this.debounceMillis = debounceMillis;
+        this.reload = reload;
+        this.logger = logger;
+        this.service = FileSystems.getDefault().newWatchService();
+        Set<Path> folders = new HashSet<>();
+        for (Path file : files) {
+            folders.add(file.getParent());
+        }
+        try {
+            for (Path folder : folders) {
+                folder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        } catch (IOException e) {
+            service.close();
+            throw e;
+        }
+        this.thread = new Thread(this, "FakePluginsList-ConfigWatcher");
+        this.thread.setDaemon(true);
+    }
+
+    static ConfigWatcher start(Set<Path> files, long debounceMillis, BooleanSupplier reload, Logger logger)
+            throws IOException {
+        ConfigWatcher watcher = new ConfigWatcher(files, debounceMillis, reload, logger);
+        watcher.thread.start();
+        return watcher;
+    }
+
+    long debounceMillis() {
+        return debounceMillis;
+    }
+
+    Set<Path> files() {
+        return files;
+    }
+
+    void close() {
+        try {
+            service.close();
+        } catch (IOException e) {
+            logger.warning("Failed to close the config watcher: " + e.getMessage());
+        }
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        boolean dirty = false;
+        try {
+            while (true) {
+                WatchKey key = dirty ? service.poll(debounceMillis, TimeUnit.MILLISECONDS) : service.take();
+                if (key == null) {
+                    if (reload.getAsBoolean()) {
+                        dirty = false;
+                    }
+                    continue;
+                }
+                Path folder = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                            || files.contains(folder.resolve((Path) event.context()))) {
+                        dirty = true;
+                    }
+                }
+                if (!key.reset()) {
+                    logger.warning("Stopped watching " + folder + ", the folder is no longer accessible.");
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.fakeplugins.fakepluginslist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+enum DuplicateRule {
+    FIRST,
+    LAST,
+    MERGE;
+
+    static DuplicateRule of(String name) {
+        if ("last".equalsIgnoreCase(name)) {
+            return LAST;
+        }
+        if ("merge".equalsIgnoreCase(name)) {
+            return MERGE;
+        }
+        return FIRST;
+    }
+
+    FakePlugin resolve(FakePlugin kept, FakePlugin duplicate) {
+        switch (this) {
+            case LAST:
+                return duplicate;
+            case MERGE:
+                List<String> authors = new ArrayList<>(kept.authors);
+                for (String author : duplicate.authors) {
+                    if (!authors.contains(author)) {
+                        authors.add(author);
+                    }
+                }
+                return new FakePlugin(kept.name, kept.enabled,
+                        kept.version.isEmpty() ? duplicate.version : kept.version,
+                        kept.description.isEmpty() ? duplicate.description : kept.description,
+                        authors, kept.category);
+            default:
+                return kept;
+        }
+    }
+}
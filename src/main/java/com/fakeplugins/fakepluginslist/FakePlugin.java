@@ -0,0 +1,22 @@
+package com.fakeplugins.fakepluginslist;
+
+import java.util.List;
+
+final class FakePlugin {
+
+    final String name;
+    final boolean enabled;
+    final String version;
+    final String description;
+    final List<String> authors;
+    final PluginCategory category;
+
+    FakePlugin(String name, boolean enabled, String version, String description, List<String> authors, PluginCategory category) {
+        this.name = name;
+        this.enabled = enabled;
+        this.version = version;
+        this.description = description;
+        this.authors = authors;
+        this.category = category == null ? PluginCategory.BUKKIT : category;
+    }
+}
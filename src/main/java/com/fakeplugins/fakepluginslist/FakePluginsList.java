@@ -1,61 +1,111 @@
 package com.fakeplugins.fakepluginslist;
 
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.format.NamedTextColor;
-import net.kyori.adventure.text.minimessage.MiniMessage;
-import net.kyori.adventure.text.event.ClickEvent;
-import net.kyori.adventure.text.event.HoverEvent;
-import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandMap;
 import org.bukkit.command.CommandSender;
 import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerCommandSendEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class FakePluginsList extends JavaPlugin {
+public class FakePluginsList extends JavaPlugin implements Listener {
 
-    private static final String RELOAD_PERMISSION = "fakepluginslist.reload";
-    private static final String CATEGORY_PAPER = "paper";
-    private static final String CATEGORY_BUKKIT = "bukkit";
+    static final String RELOAD_PERMISSION = "fakepluginslist.reload";
+    private static final String STATS_PERMISSION = "fakepluginslist.stats";
+    private static final String AUDIT_PERMISSION = "fakepluginslist.audit";
+    private static final int AUDIT_REPORT_LIMIT = 10;
     private static final List<String> VERSION_COMMANDS = Arrays.asList("version", "ver");
-    private static final MiniMessage MINI = MiniMessage.miniMessage();
-    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacyAmpersand();
-
-    private final Map<String, Command> registeredCommands = new HashMap<>();
-    private SimpleCommandMap commandMap;
-    private Map<String, Command> knownCommands;
-
-    private List<FakePlugin> plugins = new ArrayList<>();
-    private List<String> commands = new ArrayList<>();
-    private String primaryCommand;
-    private String serverHeader;
-    private String paperHeader;
-    private String bukkitHeader;
-    private String realListPermission;
-    private boolean showDisabledPlugins;
-    private boolean randomOrder;
+    private static final List<String> NAMESPACES = Arrays.asList("bukkit", "minecraft", "fakepluginslist");
+    private static final int REPORTED_CATALOGUE_ERRORS = 20;
+
+    private final CommandRegistrations registrations = new CommandRegistrations();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private final AtomicBoolean hiddenCommandsQueued = new AtomicBoolean();
+    private volatile SimpleCommandMap commandMap;
+    private volatile Map<String, Command> knownCommands;
+    private volatile ScheduledTask statsTask;
+    private volatile ScheduledTask auditTask;
+    private volatile ConfigWatcher watcher;
+    private CommandDispatcher dispatcher;
 
     @Override
     public void onEnable() {
         saveDefaultConfig();
+        Component versionHeader = TextFormat.parseText("&fThis server is running " + Bukkit.getName()
+                + " version " + Bukkit.getVersion()
+                + " (Implementing API version " + Bukkit.getBukkitVersion() + ")");
+        dispatcher = new CommandDispatcher(this, getServer().getPluginManager(), versionHeader,
+                this::reloadPluginConfig);
         resolveCommandMap();
-        loadConfigValues();
-        registerCommands(commands);
+        LoadedConfig loaded;
+        try {
+            loaded = loadConfig();
+        } catch (IOException | InvalidConfigurationException e) {
+            getLogger().warning("Failed to load config.yml, using the defaults: " + e.getMessage());
+            long started = System.nanoTime();
+            ConfigSnapshot defaults = ConfigSnapshot.load(getConfig(), getDataFolder().toPath(), null);
+            loaded = new LoadedConfig(defaults, null, System.nanoTime() - started);
+        }
+        ConfigSnapshot current = loaded.snapshot;
+        dispatcher.publish(current);
+        CatalogueSnapshot catalogues = loaded.catalogues;
+        if (catalogues != null && catalogues.changed()) {
+            getServer().getAsyncScheduler().runNow(this, task -> saveCatalogueSnapshot(catalogues));
+        }
+        reportLoadWarnings(current);
+        registerCommands(current.commands);
         registerVersionCommands();
-        getLogger().info("FakePluginsList enabled.");
+        refreshHiddenCommands(current);
+        getServer().getPluginManager().registerEvents(this, this);
+        scheduleStatsFile(current);
+        configureAudit(current);
+        configureWatcher(current);
+        getLogger().info("FakePluginsList enabled, config " + describeLoad(loaded) + ".");
     }
 
     @Override
     public void onDisable() {
+        if (statsTask != null) {
+            statsTask.cancel();
+            statsTask = null;
+        }
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+        stopAudit();
         unregisterCommands();
         getLogger().info("FakePluginsList disabled.");
     }
@@ -65,13 +115,44 @@ public class FakePluginsList extends JavaPlugin {
         if ("fakepluginslist".equalsIgnoreCase(command.getName())) {
             if (args.length > 0 && "reload".equalsIgnoreCase(args[0])) {
                 if (!sender.hasPermission(RELOAD_PERMISSION)) {
-                    sender.sendMessage(parseText("<red>You do not have permission to do that.</red>"));
+                    sender.sendMessage(TextFormat.parseText("<red>You do not have permission to do that.</red>"));
                     return true;
                 }
                 reloadPluginConfig(sender);
                 return true;
             }
-            sender.sendMessage(parseText("<yellow>Usage: /fakepluginslist reload</yellow>"));
+            if (args.length > 0 && "stats".equalsIgnoreCase(args[0])) {
+                if (!sender.hasPermission(STATS_PERMISSION)) {
+                    sender.sendMessage(TextFormat.parseText("<red>You do not have permission to do that.</red>"));
+                    return true;
+                }
+                List<String> lines = dispatcher.metrics.report();
+                ConfigSnapshot current = dispatcher.snapshot();
+                lines.add(catalogueSummary(" Catalogue", current));
+                for (ProfileSelector.Profile profile : current.profiles()) {
+                    lines.add(catalogueSummary("  Profile " + profile.name, profile.snapshot));
+                }
+                for (String line : lines) {
+                    sender.sendMessage(TextFormat.parseText("&7" + line));
+                }
+                return true;
+            }
+            if (args.length > 0 && "audit".equalsIgnoreCase(args[0])) {
+                if (!sender.hasPermission(AUDIT_PERMISSION)) {
+                    sender.sendMessage(TextFormat.parseText("<red>You do not have permission to do that.</red>"));
+                    return true;
+                }
+                AuditLog log = dispatcher.audit;
+                if (log == null) {
+                    sender.sendMessage(TextFormat.parseText("<yellow>The audit log is disabled in config.yml.</yellow>"));
+                    return true;
+                }
+                for (String line : log.report(args.length > 1 ? args[1] : null, AUDIT_REPORT_LIMIT)) {
+                    sender.sendMessage(TextFormat.parseText("&7" + line));
+                }
+                return true;
+            }
+            sender.sendMessage(TextFormat.parseText("<yellow>Usage: /fakepluginslist <reload|stats|audit [player]></yellow>"));
             return true;
         }
         return false;
@@ -93,511 +174,492 @@ public class FakePluginsList extends JavaPlugin {
         }
     }
 
-    private void loadConfigValues() {
-        reloadConfig();
-        commands = new ArrayList<>(getConfig().getStringList("commands"));
-        if (commands.isEmpty()) {
-            commands.add("plugins");
+    private LoadedConfig loadConfig() throws IOException, InvalidConfigurationException {
+        long started = System.nanoTime();
+        Path folder = getDataFolder().toPath();
+        byte[] bytes = Files.readAllBytes(folder.resolve("config.yml"));
+        String text = new String(bytes, StandardCharsets.UTF_8);
+        YamlConfiguration config = parseConfig(CatalogueSnapshot.withoutPlugins(text));
+        CatalogueSnapshot catalogues = openCatalogueSnapshot(config, bytes);
+        if (catalogues == null || !catalogues.loaded || catalogues.get("") == null) {
+            config = parseConfig(text);
+        }
+        ConfigSnapshot loaded = ConfigSnapshot.load(config, folder, catalogues);
+        long nanos = System.nanoTime() - started;
+        if (catalogues != null && !catalogues.loaded) {
+            catalogues.fullLoadNanos = nanos;
         }
-        primaryCommand = commands.get(0);
-        serverHeader = getConfig().getString("server_header", "&f? Server Plugins (&f%count%&f)");
-        paperHeader = getConfig().getString("paper_header", "&bPaper Plugins (&f%count%&f):");
-        bukkitHeader = getConfig().getString("bukkit_header", "&6Bukkit Plugins (&f%count%&f):");
-        realListPermission = getConfig().getString("real_list_permission", "fakepluginslist.real");
-        showDisabledPlugins = getConfig().getBoolean("show_disabled_plugins", true);
-        randomOrder = getConfig().getBoolean("random_order", true);
-        plugins = loadPlugins();
+        return new LoadedConfig(loaded, catalogues, nanos);
     }
 
-    private List<FakePlugin> loadPlugins() {
-        List<FakePlugin> result = new ArrayList<>();
-        List<Map<?, ?>> entries = getConfig().getMapList("plugins");
-        if (!entries.isEmpty()) {
-            for (Map<?, ?> entry : entries) {
-                String name = valueAsString(entry.get("name"));
-                if (name.isEmpty()) {
-                    continue;
-                }
-                boolean enabled = valueAsBoolean(entry.get("enabled"), true);
-                String version = valueAsString(entry.get("version"));
-                String description = valueAsString(entry.get("description"));
-                List<String> authors = valueAsStringList(entry.get("authors"));
-                String category = valueAsString(entry.get("category"));
-                result.add(new FakePlugin(name, enabled, version, description, authors, category));
+    private YamlConfiguration parseConfig(String text) throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.loadFromString(text);
+        InputStream defaults = getResource("config.yml");
+        if (defaults != null) {
+            try (Reader reader = new InputStreamReader(defaults, StandardCharsets.UTF_8)) {
+                config.setDefaults(YamlConfiguration.loadConfiguration(reader));
             }
-            return result;
         }
+        return config;
+    }
 
-        for (String name : getConfig().getStringList("success_plugins")) {
-            if (!name.isEmpty()) {
-                result.add(new FakePlugin(name, true, "", "", new ArrayList<>(), CATEGORY_BUKKIT));
-            }
+    private CatalogueSnapshot openCatalogueSnapshot(ConfigurationSection config, byte[] configBytes) {
+        if (!config.getBoolean("catalogue_snapshot", true)) {
+            return null;
         }
-        for (String name : getConfig().getStringList("failed_plugins")) {
-            if (!name.isEmpty()) {
-                result.add(new FakePlugin(name, false, "", "", new ArrayList<>(), CATEGORY_BUKKIT));
-            }
+        try {
+            return CatalogueSnapshot.open(configBytes, config, getDataFolder().toPath(), getDescription().getVersion());
+        } catch (IOException e) {
+            getLogger().warning("Failed to read " + CatalogueSnapshot.FILE_NAME + ": " + e.getMessage());
+            return null;
         }
-        return result;
-    }
-
-    private String valueAsString(Object value) {
-        return value == null ? "" : String.valueOf(value).trim();
     }
 
-    private boolean valueAsBoolean(Object value, boolean fallback) {
-        if (value instanceof Boolean) {
-            return (Boolean) value;
+    private static String describeLoad(LoadedConfig loaded) {
+        CatalogueSnapshot catalogues = loaded.catalogues;
+        if (catalogues == null || !catalogues.loaded) {
+            return "and catalogue parsed in " + formatMillis(loaded.nanos);
         }
-        if (value == null) {
-            return fallback;
+        String described = "loaded with the catalogue from " + CatalogueSnapshot.FILE_NAME + " in "
+                + formatMillis(loaded.nanos);
+        if (catalogues.fullLoadNanos <= 0) {
+            return described;
         }
-        return Boolean.parseBoolean(String.valueOf(value));
+        return described + " (a full parse took " + formatMillis(catalogues.fullLoadNanos) + ", "
+                + formatMillis(catalogues.fullLoadNanos - loaded.nanos) + " saved)";
     }
 
-    @SuppressWarnings("unchecked")
-    private List<String> valueAsStringList(Object value) {
-        if (value instanceof List) {
-            List<String> result = new ArrayList<>();
-            for (Object entry : (List<Object>) value) {
-                if (entry != null) {
-                    String text = String.valueOf(entry).trim();
-                    if (!text.isEmpty()) {
-                        result.add(text);
-                    }
-                }
-            }
-            return result;
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0D);
+    }
+
+    private void saveCatalogueSnapshot(CatalogueSnapshot catalogues) {
+        if (catalogues == null || !catalogues.changed()) {
+            return;
+        }
+        try {
+            catalogues.save();
+        } catch (IOException e) {
+            getLogger().warning("Failed to write " + CatalogueSnapshot.FILE_NAME + ": " + e.getMessage());
         }
-        return new ArrayList<>();
     }
 
     public void reloadPluginConfig(CommandSender sender) {
-        List<String> oldCommands = new ArrayList<>(commands);
-        loadConfigValues();
-        unregisterCommands(oldCommands);
-        registerCommands(commands);
-        sender.sendMessage(parseText("<green>FakePluginsList config reloaded.</green>"));
+        if (!startReload(sender, false)) {
+            sender.sendMessage(TextFormat.parseText("<yellow>A reload is already in progress.</yellow>"));
+        }
+    }
+
+    private boolean startReload(CommandSender sender, boolean fileChanged) {
+        if (!isEnabled() || !reloading.compareAndSet(false, true)) {
+            return false;
+        }
+        getServer().getAsyncScheduler().runNow(this, task -> {
+            ConfigSnapshot next;
+            try {
+                LoadedConfig loaded = loadConfig();
+                next = loaded.snapshot;
+                dispatcher.metrics.record(Metrics.Timer.RELOAD, loaded.nanos);
+                saveCatalogueSnapshot(loaded.catalogues);
+                getLogger().info("Config " + describeLoad(loaded) + ".");
+            } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                reloading.set(false);
+                getLogger().warning("Failed to reload config.yml: " + e.getMessage());
+                runGlobal(() -> sender.sendMessage(TextFormat.parseText(
+                        "<red>FakePluginsList reload failed, keeping the previous config. See console.</red>")));
+                return;
+            }
+            reportLoadWarnings(next);
+            if (fileChanged && hasCatalogueErrors(next)) {
+                reloading.set(false);
+                getLogger().warning("Not applying the changed config because of the catalogue errors above."
+                        + " Fix them and save again, or run /fakepluginslist reload to apply it anyway.");
+                return;
+            }
+            runGlobal(() -> {
+                try {
+                    refreshHiddenCommands(next);
+                    ConfigSnapshot previous = dispatcher.publish(next);
+                    if (!previous.commands.equals(next.commands)) {
+                        updateCommands(previous.commands, next.commands);
+                    }
+                    if (previous.statsFileInterval != next.statsFileInterval
+                            || previous.statsFileMaxBytes != next.statsFileMaxBytes) {
+                        scheduleStatsFile(next);
+                    }
+                    if (previous.auditBufferSize != next.auditBufferSize
+                            || previous.auditFlushMillis != next.auditFlushMillis
+                            || previous.auditMaxBytes != next.auditMaxBytes) {
+                        configureAudit(next);
+                    }
+                    configureWatcher(next);
+                } finally {
+                    reloading.set(false);
+                }
+                sender.sendMessage(TextFormat.parseText("<green>FakePluginsList config reloaded.</green>"));
+            });
+        });
+        return true;
     }
 
-    private void registerCommands(List<String> commandNames) {
-        if (commandMap == null) {
-            getLogger().warning("CommandMap unavailable. Commands were not registered.");
+    private void configureWatcher(ConfigSnapshot current) {
+        Set<Path> files = watchedFiles(current);
+        if (watcher != null && watcher.debounceMillis() == current.watchDebounceMillis
+                && watcher.files().equals(files)) {
             return;
         }
-        for (String commandName : commandNames) {
-            String normalized = commandName.toLowerCase();
-            unregisterKnown(normalized);
-            FakePluginsCommand command = new FakePluginsCommand(commandName, this);
-            commandMap.register(getName().toLowerCase(), command);
-            registeredCommands.put(normalized, command);
-            if (knownCommands != null && !normalized.contains(":")) {
-                knownCommands.put("bukkit:" + normalized, command);
-                knownCommands.put("minecraft:" + normalized, command);
-            }
-            getLogger().info("Registered command /" + commandName);
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
         }
-    }
-
-    private void registerVersionCommands() {
-        if (commandMap == null) {
+        if (current.watchDebounceMillis <= 0) {
             return;
         }
-        for (String commandName : VERSION_COMMANDS) {
-            String normalized = commandName.toLowerCase();
-            unregisterKnown(normalized);
-            FakeVersionCommand command = new FakeVersionCommand(commandName, this);
-            commandMap.register(getName().toLowerCase(), command);
-            registeredCommands.put(normalized, command);
-            if (knownCommands != null && !normalized.contains(":")) {
-                knownCommands.put("bukkit:" + normalized, command);
-                knownCommands.put("minecraft:" + normalized, command);
-            }
-            getLogger().info("Registered command /" + commandName);
+        try {
+            watcher = ConfigWatcher.start(files, current.watchDebounceMillis,
+                    () -> startReload(Bukkit.getConsoleSender(), true), getLogger());
+        } catch (IOException e) {
+            getLogger().warning("Failed to watch " + files + " for changes: " + e.getMessage());
         }
     }
 
-    private void unregisterCommands() {
-        unregisterCommands(new ArrayList<>(registeredCommands.keySet()));
-    }
-
-    private void unregisterCommands(List<String> commandNames) {
-        if (knownCommands == null) {
-            registeredCommands.clear();
-            return;
-        }
-        for (String commandName : commandNames) {
-            String normalized = commandName.toLowerCase();
-            Command removed = registeredCommands.remove(normalized);
-            if (removed != null) {
-                knownCommands.values().removeIf(cmd -> cmd == removed);
-            }
-            unregisterKnown(normalized);
+    private Set<Path> watchedFiles(ConfigSnapshot current) {
+        Path folder = getDataFolder().toPath().toAbsolutePath().normalize();
+        Set<Path> files = new HashSet<>();
+        files.add(folder.resolve("config.yml"));
+        addCatalogueFile(files, folder, current);
+        for (ProfileSelector.Profile profile : current.profiles()) {
+            addCatalogueFile(files, folder, profile.snapshot);
         }
+        return files;
     }
 
-    private void unregisterKnown(String name) {
-        if (knownCommands == null) {
+    private void addCatalogueFile(Set<Path> files, Path folder, ConfigSnapshot loaded) {
+        if (loaded.catalogueFile.isEmpty()) {
             return;
         }
-        knownCommands.remove(name);
-        knownCommands.remove("bukkit:" + name);
-        knownCommands.remove("minecraft:" + name);
-        knownCommands.remove(getName().toLowerCase() + ":" + name);
+        Path file = folder.resolve(loaded.catalogueFile).normalize();
+        if (Files.isDirectory(file.getParent())) {
+            files.add(file);
+        } else {
+            getLogger().warning("Not watching " + loaded.catalogueFile + ", its folder does not exist.");
+        }
     }
 
-    public void sendPluginsList(CommandSender sender) {
-        if (realListPermission != null && !realListPermission.isEmpty() && sender.hasPermission(realListPermission)) {
-            sendRealPluginsList(sender);
-            return;
+    private static boolean hasCatalogueErrors(ConfigSnapshot loaded) {
+        if (!loaded.catalogueErrors.isEmpty()) {
+            return true;
         }
-        List<FakePlugin> paper = new ArrayList<>();
-        List<FakePlugin> bukkit = new ArrayList<>();
-        for (FakePlugin plugin : plugins) {
-            if (!plugin.enabled && !showDisabledPlugins) {
-                continue;
-            }
-            if (CATEGORY_PAPER.equalsIgnoreCase(plugin.category)) {
-                paper.add(plugin);
-            } else {
-                bukkit.add(plugin);
+        for (ProfileSelector.Profile profile : loaded.profiles()) {
+            if (!profile.snapshot.catalogueErrors.isEmpty()) {
+                return true;
             }
         }
+        return false;
+    }
 
-        if (randomOrder) {
-            Collections.shuffle(paper);
-            Collections.shuffle(bukkit);
+    private void reportLoadWarnings(ConfigSnapshot loaded) {
+        reportLoadWarnings("Catalogue", loaded);
+        for (ProfileSelector.Profile profile : loaded.profiles()) {
+            reportLoadWarnings("Profile " + profile.name, profile.snapshot);
         }
-
-        List<FakePlugin> all = new ArrayList<>();
-        all.addAll(paper);
-        all.addAll(bukkit);
-
-        Component output = Component.empty()
-                .append(parseText(replaceCounts(serverHeader, all)))
-                .append(Component.newline())
-                .append(parseText(replaceCounts(paperHeader, paper)))
-                .append(Component.newline())
-                .append(buildPluginsLine(paper))
-                .append(Component.newline())
-                .append(parseText(replaceCounts(bukkitHeader, bukkit)))
-                .append(Component.newline())
-                .append(buildPluginsLine(bukkit));
-
-        sender.sendMessage(output);
     }
 
-    private void sendRealPluginsList(CommandSender sender) {
-        org.bukkit.plugin.Plugin[] loaded = Bukkit.getPluginManager().getPlugins();
-        List<String> names = new ArrayList<>();
-        for (org.bukkit.plugin.Plugin plugin : loaded) {
-            if (plugin == null) {
-                continue;
-            }
-            String name = plugin.getDescription().getName();
-            if (name != null && !name.isEmpty()) {
-                names.add((plugin.isEnabled() ? "&a" : "&c") + name);
-            }
+    private void reportLoadWarnings(String source, ConfigSnapshot loaded) {
+        List<String> errors = loaded.catalogueErrors;
+        for (int i = 0; i < errors.size() && i < REPORTED_CATALOGUE_ERRORS; i++) {
+            getLogger().warning(source + ": skipped catalogue entry, " + errors.get(i));
         }
-        if (randomOrder) {
-            Collections.shuffle(names);
+        if (errors.size() > REPORTED_CATALOGUE_ERRORS) {
+            getLogger().warning(source + ": skipped " + (errors.size() - REPORTED_CATALOGUE_ERRORS)
+                    + " more catalogue entries.");
         }
-        String header = replaceCounts(serverHeader, toFakeList(names));
-        Component output = parseText(header + "\n &8- " + String.join("&f, ", names));
-        sender.sendMessage(output);
+        if (!loaded.duplicateNames.isEmpty()) {
+            getLogger().warning(source + ": duplicate plugin entries (" + loaded.duplicateRule.name().toLowerCase(Locale.ROOT)
+                    + " rule applied): " + String.join(", ", loaded.duplicateNames));
+        }
+        getLogger().info(catalogueSummary(source, loaded));
     }
 
-    private List<FakePlugin> toFakeList(List<String> names) {
-        List<FakePlugin> list = new ArrayList<>();
-        for (String name : names) {
-            list.add(new FakePlugin(name, true, "", "", new ArrayList<>(), CATEGORY_BUKKIT));
-        }
-        return list;
+    private static String catalogueSummary(String source, ConfigSnapshot current) {
+        return source + ": " + current.entries.length + " entries, "
+                + current.duplicateNames.size() + " duplicates dropped ("
+                + current.duplicateRule.name().toLowerCase(Locale.ROOT) + "), ~"
+                + formatBytes(current.catalogueSavedBytes) + " saved by sharing strings and author lists, /plugins "
+                + (current.paged() ? current.pageCount() + " pages, first " : "") + formatBytes(current.listBytes);
     }
 
-    private String replaceCounts(String text, List<FakePlugin> list) {
-        return text.replace("%count%", String.valueOf(list.size()))
-                .replace("%enabled_count%", String.valueOf(countEnabled(list)))
-                .replace("%disabled_count%", String.valueOf(countDisabled(list)));
+    private static String formatBytes(long bytes) {
+        return bytes < 10 * 1024 ? bytes + " B" : bytes / 1024 + " KiB";
     }
 
-    private int countEnabled(List<FakePlugin> list) {
-        int count = 0;
-        for (FakePlugin plugin : list) {
-            if (plugin.enabled) {
-                count++;
-            }
+    private void scheduleStatsFile(ConfigSnapshot current) {
+        if (statsTask != null) {
+            statsTask.cancel();
+            statsTask = null;
         }
-        return count;
+        if (current.statsFileInterval <= 0) {
+            return;
+        }
+        RollingFile file = new RollingFile(getDataFolder().toPath().resolve("stats.log"), current.statsFileMaxBytes);
+        long period = current.statsFileInterval;
+        statsTask = getServer().getAsyncScheduler().runAtFixedRate(this, task -> {
+            List<String> lines = new ArrayList<>();
+            lines.add("[" + LocalDateTime.now() + "]");
+            lines.addAll(dispatcher.metrics.report());
+            try {
+                file.append(lines);
+            } catch (IOException e) {
+                getLogger().warning("Failed to write stats.log: " + e.getMessage());
+            }
+        }, period, period, TimeUnit.SECONDS);
     }
 
-    private int countDisabled(List<FakePlugin> list) {
-        int count = 0;
-        for (FakePlugin plugin : list) {
-            if (!plugin.enabled) {
-                count++;
-            }
+    private void configureAudit(ConfigSnapshot current) {
+        stopAudit();
+        if (current.auditBufferSize <= 0) {
+            return;
         }
-        return count;
+        AuditLog log = new AuditLog(getDataFolder().toPath().resolve("audit.log"),
+                current.auditBufferSize, current.auditMaxBytes);
+        dispatcher.audit = log;
+        auditTask = getServer().getAsyncScheduler().runAtFixedRate(this, task -> flushAudit(log),
+                current.auditFlushMillis, current.auditFlushMillis, TimeUnit.MILLISECONDS);
     }
 
-    private Component buildHoverText(FakePlugin plugin) {
-        Component version = parseText(plugin.version.isEmpty()
-                ? "&fVersion: &7Unknown"
-                : "&fVersion: &a" + plugin.version);
-        Component description = parseText(plugin.description.isEmpty()
-                ? "&fDescription: &7No description"
-                : "&fDescription: &a" + plugin.description);
-        Component author = parseText(plugin.authors.isEmpty()
-                ? "&fAuthor: &7Unknown"
-                : "&fAuthor: &a" + String.join(", ", plugin.authors));
+    private void stopAudit() {
+        if (auditTask != null) {
+            auditTask.cancel();
+            auditTask = null;
+        }
+        AuditLog log = dispatcher.audit;
+        dispatcher.audit = null;
+        if (log != null) {
+            flushAudit(log);
+        }
+    }
 
-        return Component.empty()
-                .append(version)
-                .append(Component.newline())
-                .append(description)
-                .append(Component.newline())
-                .append(author);
+    private void flushAudit(AuditLog log) {
+        try {
+            log.flush();
+        } catch (IOException e) {
+            getLogger().warning("Failed to write audit.log: " + e.getMessage());
+        }
     }
 
-    private Component buildInfoText(FakePlugin plugin) {
-        return Component.empty()
-                .append(parseText("&6" + plugin.name))
-                .append(Component.newline())
-                .append(buildHoverText(plugin));
+    private void runGlobal(Runnable task) {
+        if (isEnabled()) {
+            getServer().getGlobalRegionScheduler().execute(this, task);
+        }
     }
 
-    private void sendPluginInfo(CommandSender sender, String name) {
-        if (name == null || name.isEmpty()) {
-            sender.sendMessage(parseText("<red>Please specify a plugin name.</red>"));
+    private void registerCommands(List<String> commandNames) {
+        if (commandMap == null) {
+            getLogger().warning("CommandMap unavailable. Commands were not registered.");
             return;
         }
-        FakePlugin target = null;
-        for (FakePlugin plugin : plugins) {
-            if (plugin.name.equalsIgnoreCase(name)) {
-                target = plugin;
-                break;
-            }
-        }
-        if (target == null) {
-            sender.sendMessage(parseText("<red>Plugin not found.</red>"));
-            return;
+        for (String commandName : commandNames) {
+            registerCommand(commandName, new FakePluginsCommand(commandName, dispatcher));
         }
-        sender.sendMessage(buildInfoText(target));
     }
 
-    private String joinArgs(String[] args, int startIndex) {
-        if (args == null || args.length <= startIndex) {
-            return "";
+    private void registerVersionCommands() {
+        if (commandMap == null) {
+            return;
         }
-        StringBuilder builder = new StringBuilder();
-        for (int i = startIndex; i < args.length; i++) {
-            if (i > startIndex) {
-                builder.append(' ');
-            }
-            builder.append(args[i]);
+        for (String commandName : VERSION_COMMANDS) {
+            registerCommand(commandName, new FakeVersionCommand(commandName, dispatcher));
         }
-        return builder.toString();
     }
 
-    private List<FakePlugin> getVisiblePlugins() {
-        List<FakePlugin> visible = new ArrayList<>();
-        for (FakePlugin plugin : plugins) {
-            if (!plugin.enabled && !showDisabledPlugins) {
-                continue;
+    private void registerCommand(String commandName, Command command) {
+        String normalized = commandName.toLowerCase();
+        String prefix = getName().toLowerCase();
+        unregisterKnown(normalized);
+        commandMap.register(prefix, command);
+        List<String> keys = new ArrayList<>(4);
+        for (String key : new String[]{normalized, prefix + ":" + normalized}) {
+            if (knownCommands.get(key) == command) {
+                keys.add(key);
             }
-            visible.add(plugin);
         }
-        if (randomOrder) {
-            Collections.shuffle(visible);
+        if (!normalized.contains(":")) {
+            for (String namespace : new String[]{"bukkit:", "minecraft:"}) {
+                knownCommands.put(namespace + normalized, command);
+                keys.add(namespace + normalized);
+            }
         }
-        return visible;
+        registrations.add(normalized, command, keys);
+        getLogger().info("Registered command /" + commandName);
     }
 
-    private FakePlugin findFakePluginByName(String name) {
-        if (name == null || name.isEmpty()) {
-            return null;
+    private void updateCommands(List<String> previous, List<String> next) {
+        CommandRegistrations.Diff diff = CommandRegistrations.diff(previous, next);
+        if (diff.isEmpty()) {
+            return;
         }
-        for (FakePlugin plugin : plugins) {
-            if (plugin.name.equalsIgnoreCase(name)) {
-                return plugin;
-            }
+        registrations.remove(diff.removed, knownCommands);
+        registerCommands(diff.added);
+        refreshHiddenCommands(dispatcher.snapshot());
+        for (Player player : getServer().getOnlinePlayers()) {
+            player.getScheduler().run(this, task -> player.updateCommands(), null);
         }
-        return null;
     }
 
-    private Component buildVersionPluginsLine(List<FakePlugin> list) {
-        Component line = parseText("&fPlugins (" + list.size() + "): ");
-        for (int i = 0; i < list.size(); i++) {
-            FakePlugin plugin = list.get(i);
-            Component pluginComponent = Component.text(plugin.name,
-                    plugin.enabled ? NamedTextColor.GREEN : NamedTextColor.RED);
-            line = line.append(pluginComponent);
-            if (i < list.size() - 1) {
-                line = line.append(parseText("&f, "));
-            }
-        }
-        return line;
+    private void unregisterCommands() {
+        registrations.remove(registrations.names(), knownCommands);
     }
 
-    private Component buildVersionPluginsLineForReal(org.bukkit.plugin.Plugin[] loaded) {
-        List<org.bukkit.plugin.Plugin> list = new ArrayList<>();
-        for (org.bukkit.plugin.Plugin plugin : loaded) {
-            if (plugin != null) {
-                list.add(plugin);
-            }
+    private void unregisterKnown(String name) {
+        if (knownCommands == null) {
+            return;
         }
-        Component line = parseText("&fPlugins (" + list.size() + "): ");
-        for (int i = 0; i < list.size(); i++) {
-            org.bukkit.plugin.Plugin plugin = list.get(i);
-            String name = plugin.getDescription().getName();
-            Component pluginComponent = Component.text(name,
-                    plugin.isEnabled() ? NamedTextColor.GREEN : NamedTextColor.RED);
-            line = line.append(pluginComponent);
-            if (i < list.size() - 1) {
-                line = line.append(parseText("&f, "));
-            }
+        knownCommands.remove(name);
+        knownCommands.remove("bukkit:" + name);
+        knownCommands.remove("minecraft:" + name);
+        knownCommands.remove(getName().toLowerCase() + ":" + name);
+    }
+
+    public void sendPluginsList(CommandSender sender) {
+        dispatcher.sendPluginsList(sender, 1);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        dispatcher.pluginsChanged();
+        queueHiddenCommandsRefresh();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        dispatcher.pluginsChanged();
+        queueHiddenCommandsRefresh();
+    }
+
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onPlayerCommandSend(PlayerCommandSendEvent event) {
+        Set<String> hidden = dispatcher.snapshot().forSender(event.getPlayer()).hiddenCommands;
+        if (hidden != null) {
+            event.getCommands().removeAll(hidden);
         }
-        return line;
     }
 
-    private void sendVersionInfo(CommandSender sender) {
-        String headerText = "&fThis server is running " + Bukkit.getName()
-                + " version " + Bukkit.getVersion()
-                + " (Implementing API version " + Bukkit.getBukkitVersion() + ")";
-        Component header = parseText(headerText);
-        if (realListPermission != null && !realListPermission.isEmpty() && sender.hasPermission(realListPermission)) {
-            Component line = buildVersionPluginsLineForReal(Bukkit.getPluginManager().getPlugins());
-            sender.sendMessage(Component.empty().append(header).append(Component.newline()).append(line));
-            return;
+    private void queueHiddenCommandsRefresh() {
+        if (hiddenCommandsQueued.compareAndSet(false, true)) {
+            runGlobal(() -> {
+                hiddenCommandsQueued.set(false);
+                refreshHiddenCommands(dispatcher.snapshot());
+            });
         }
-        List<FakePlugin> visible = getVisiblePlugins();
-        Component line = buildVersionPluginsLine(visible);
-        sender.sendMessage(Component.empty().append(header).append(Component.newline()).append(line));
     }
 
-    private void sendVersionPluginInfo(CommandSender sender, String name) {
-        if (name == null || name.isEmpty()) {
-            sender.sendMessage(parseText("<red>Please specify a plugin name.</red>"));
+    private void refreshHiddenCommands(ConfigSnapshot current) {
+        Map<String, Command> known = knownCommands;
+        if (known == null) {
             return;
         }
-        if (realListPermission != null && !realListPermission.isEmpty() && sender.hasPermission(realListPermission)) {
-            org.bukkit.plugin.Plugin real = Bukkit.getPluginManager().getPlugin(name);
-            if (real != null) {
-                String version = real.getDescription().getVersion();
-                String output = "&a" + real.getDescription().getName() + " &fversion &a"
-                        + (version == null || version.isEmpty() ? "Unknown" : version);
-                sender.sendMessage(parseText(output));
-                return;
-            }
+        refreshHiddenCommands(current, known);
+        for (ProfileSelector.Profile profile : current.profiles()) {
+            refreshHiddenCommands(profile.snapshot, known);
         }
-        FakePlugin target = findFakePluginByName(name);
-        if (target == null) {
-            sender.sendMessage(parseText("<red>This server is not running any plugin by that name.</red>"));
-            return;
-        }
-        String version = target.version.isEmpty() ? "Unknown" : target.version;
-        sender.sendMessage(parseText("&a" + target.name + " &fversion &a" + version));
     }
 
-    private Component parseText(String text) {
-        if (text == null) {
-            return Component.empty();
-        }
-        if (text.indexOf('<') >= 0) {
-            return MINI.deserialize(text);
+    private static void refreshHiddenCommands(ConfigSnapshot loaded, Map<String, Command> known) {
+        if (loaded.commandTree != null) {
+            loaded.hiddenCommands = loaded.commandTree.hidden(known);
         }
-        return LEGACY.deserialize(text);
     }
 
-    private Component buildPluginsLine(List<FakePlugin> list) {
-        if (list.isEmpty()) {
-            return parseText(" &8-");
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        dispatcher.evict(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(ignoreCancelled = true)
+    public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+        if (!event.isCommand() || event.isHandled()) {
+            return;
+        }
+        String buffer = event.getBuffer();
+        int labelEnd = buffer.indexOf(' ');
+        if (labelEnd < 0) {
+            return;
         }
-        Component line = parseText(" &8- ");
-        for (int i = 0; i < list.size(); i++) {
-            FakePlugin plugin = list.get(i);
-            Component pluginComponent = Component.text(plugin.name,
-                    plugin.enabled ? NamedTextColor.GREEN : NamedTextColor.RED)
-                    .hoverEvent(HoverEvent.showText(buildHoverText(plugin)))
-                    .clickEvent(ClickEvent.runCommand("/" + primaryCommand + " info " + plugin.name));
-            line = line.append(pluginComponent);
-            if (i < list.size() - 1) {
-                line = line.append(parseText("&f, "));
+        String label = buffer.substring(buffer.startsWith("/") ? 1 : 0, labelEnd).toLowerCase(Locale.ROOT);
+        int namespace = label.indexOf(':');
+        if (namespace >= 0) {
+            if (!NAMESPACES.contains(label.substring(0, namespace))) {
+                return;
             }
+            label = label.substring(namespace + 1);
+        }
+        String[] args = buffer.substring(labelEnd + 1).split(" ", -1);
+        List<String> completions;
+        if (dispatcher.snapshot().commandLabels.contains(label)) {
+            completions = dispatcher.completePlugins(event.getSender(), args);
+        } else if (VERSION_COMMANDS.contains(label)) {
+            completions = dispatcher.completeVersion(event.getSender(), args);
+        } else {
+            return;
         }
-        return line;
+        event.setCompletions(completions);
+        event.setHandled(true);
     }
 
-    private static final class FakePlugin {
-        private final String name;
-        private final boolean enabled;
-        private final String version;
-        private final String description;
-        private final List<String> authors;
-        private final String category;
+    private static final class LoadedConfig {
+        private final ConfigSnapshot snapshot;
+        private final CatalogueSnapshot catalogues;
+        private final long nanos;
 
-        private FakePlugin(String name, boolean enabled, String version, String description, List<String> authors, String category) {
-            this.name = name;
-            this.enabled = enabled;
-            this.version = version;
-            this.description = description;
-            this.authors = authors;
-            this.category = category == null || category.isEmpty() ? CATEGORY_BUKKIT : category;
+        private LoadedConfig(ConfigSnapshot snapshot, CatalogueSnapshot catalogues, long nanos) {
+            this.snapshot = snapshot;
+            this.catalogues = catalogues;
+            this.nanos = nanos;
         }
     }
 
     private static final class FakePluginsCommand extends Command {
 
-        private final FakePluginsList plugin;
+        private final CommandDispatcher dispatcher;
 
-        private FakePluginsCommand(String name, FakePluginsList plugin) {
+        private FakePluginsCommand(String name, CommandDispatcher dispatcher) {
             super(name);
-            this.plugin = plugin;
+            this.dispatcher = dispatcher;
             setDescription("Fake plugins list.");
             setUsage("/" + name);
         }
 
         @Override
         public boolean execute(CommandSender sender, String commandLabel, String[] args) {
-            if (args.length > 0 && "reload".equalsIgnoreCase(args[0])) {
-                if (!sender.hasPermission(RELOAD_PERMISSION)) {
-                    sender.sendMessage(plugin.parseText("<red>You do not have permission to do that.</red>"));
-                    return true;
-                }
-                plugin.reloadPluginConfig(sender);
-                return true;
-            }
-            if (args.length > 0 && "info".equalsIgnoreCase(args[0])) {
-                String name = plugin.joinArgs(args, 1);
-                plugin.sendPluginInfo(sender, name);
-                return true;
-            }
-            plugin.sendPluginsList(sender);
-            return true;
+            return dispatcher.executePlugins(sender, commandLabel, args);
+        }
+
+        @Override
+        public List<String> tabComplete(CommandSender sender, String alias, String[] args) {
+            return dispatcher.completePlugins(sender, args);
         }
     }
 
     private static final class FakeVersionCommand extends Command {
 
-        private final FakePluginsList plugin;
+        private final CommandDispatcher dispatcher;
 
-        private FakeVersionCommand(String name, FakePluginsList plugin) {
+        private FakeVersionCommand(String name, CommandDispatcher dispatcher) {
             super(name);
-            this.plugin = plugin;
+            this.dispatcher = dispatcher;
             setDescription("Fake version command.");
             setUsage("/" + name + " [plugin]");
         }
 
         @Override
         public boolean execute(CommandSender sender, String commandLabel, String[] args) {
-            if (args.length > 0) {
-                String name = plugin.joinArgs(args, 0);
-                plugin.sendVersionPluginInfo(sender, name);
-                return true;
-            }
-            plugin.sendVersionInfo(sender);
-            return true;
+            return dispatcher.executeVersion(sender, commandLabel, args);
+        }
+
+        @Override
+        public List<String> tabComplete(CommandSender sender, String alias, String[] args) {
+            return dispatcher.completeVersion(sender, args);
         }
     }
 }
@@ -0,0 +1,184 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+final class HeaderTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("%([A-Za-z_]+)%");
+    private static final char SLOT_START = '\uE000';
+    private static final char SLOT_END = '\uE001';
+
+    private final PlaceholderRegistry registry;
+    private final Object[] parts;
+    private final String text;
+    private final Component constant;
+
+    private HeaderTemplate(PlaceholderRegistry registry, Object[] parts, String text) {
+        this.registry = registry;
+        this.parts = parts;
+        this.text = text;
+        boolean live = text != null && slotCount(text, registry) > 0;
+        for (int i = 0; parts != null && i < parts.length && !live; i++) {
+            live = parts[i] instanceof Slot;
+        }
+        this.constant = live ? null : build(0, 0);
+    }
+
+    static HeaderTemplate compile(String text, PlaceholderRegistry registry) {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = PLACEHOLDER.matcher(text == null ? "" : text);
+        StringBuilder marked = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (PlaceholderRegistry.isCount(name) || registry.has(name)) {
+                matcher.appendReplacement(marked, "");
+                marked.append(SLOT_START).append(names.size()).append(SLOT_END);
+                names.add(name);
+            } else {
+                matcher.appendReplacement(marked, Matcher.quoteReplacement(matcher.group()));
+            }
+        }
+        matcher.appendTail(marked);
+
+        List<Object> parts = new ArrayList<>();
+        flatten(TextFormat.parseText(marked.toString()), Style.empty(), names, parts);
+        int slots = 0;
+        for (Object part : parts) {
+            if (part instanceof Slot) {
+                slots++;
+            }
+        }
+        if (slots < names.size()) {
+            return new HeaderTemplate(registry, null, text);
+        }
+        return new HeaderTemplate(registry, parts.toArray(), null);
+    }
+
+    HeaderTemplate bindCounts(int count, int enabled) {
+        if (text != null) {
+            return new HeaderTemplate(registry, null, fill(text, registry, count, enabled, false));
+        }
+        Object[] bound = parts.clone();
+        for (int i = 0; i < bound.length; i++) {
+            if (bound[i] instanceof Slot) {
+                Slot slot = (Slot) bound[i];
+                if (PlaceholderRegistry.isCount(slot.name)) {
+                    bound[i] = Component.text(countValue(slot.name, count, enabled), slot.style);
+                }
+            }
+        }
+        return new HeaderTemplate(registry, bound, null);
+    }
+
+    boolean isLive() {
+        return constant == null;
+    }
+
+    Component render() {
+        return constant != null ? constant : build(0, 0);
+    }
+
+    private Component build(int count, int enabled) {
+        if (text != null) {
+            return TextFormat.parseText(fill(text, registry, count, enabled, true));
+        }
+        TextComponent.Builder builder = Component.text();
+        for (Object part : parts) {
+            if (part instanceof Slot) {
+                Slot slot = (Slot) part;
+                String value = PlaceholderRegistry.isCount(slot.name)
+                        ? countValue(slot.name, count, enabled)
+                        : registry.value(slot.name);
+                builder.append(Component.text(value, slot.style));
+            } else {
+                builder.append((Component) part);
+            }
+        }
+        return builder.build();
+    }
+
+    private static String countValue(String name, int count, int enabled) {
+        switch (name) {
+            case PlaceholderRegistry.ENABLED_COUNT:
+                return String.valueOf(enabled);
+            case PlaceholderRegistry.DISABLED_COUNT:
+                return String.valueOf(count - enabled);
+            default:
+                return String.valueOf(count);
+        }
+    }
+
+    private static int slotCount(String text, PlaceholderRegistry registry) {
+        int slots = 0;
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        while (matcher.find()) {
+            String name = matcher.group(1).toLowerCase(Locale.ROOT);
+            if (PlaceholderRegistry.isCount(name) || registry.has(name)) {
+                slots++;
+            }
+        }
+        return slots;
+    }
+
+    private static String fill(String text, PlaceholderRegistry registry, int count, int enabled, boolean live) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        StringBuilder filled = new StringBuilder();
+        while (matcher.find()) {
+            String name = matcher.group(1).toLowerCase(Locale.ROOT);
+            String value = PlaceholderRegistry.isCount(name) ? countValue(name, count, enabled)
+                    : live && registry.has(name) ? registry.value(name)
+                    : matcher.group();
+            matcher.appendReplacement(filled, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(filled);
+        return filled.toString();
+    }
+
+    private static void flatten(Component component, Style inherited, List<String> names, List<Object> parts) {
+        Style style = inherited.merge(component.style());
+        if (component instanceof TextComponent) {
+            String content = ((TextComponent) component).content();
+            int start = 0;
+            int slot = content.indexOf(SLOT_START);
+            while (slot >= 0) {
+                int end = content.indexOf(SLOT_END, slot);
+                if (end < 0) {
+                    break;
+                }
+                if (slot > start) {
+                    parts.add(Component.text(content.substring(start, slot), style));
+                }
+                parts.add(new Slot(names.get(Integer.parseInt(content.substring(slot + 1, end))), style));
+                start = end + 1;
+                slot = content.indexOf(SLOT_START, start);
+            }
+            if (start < content.length()) {
+                parts.add(Component.text(content.substring(start), style));
+            }
+        } else {
+            parts.add(component.children(Collections.emptyList()).style(style));
+        }
+        for (Component child : component.children()) {
+            flatten(child, style, names, parts);
+        }
+    }
+
+    private static final class Slot {
+        private final String name;
+        private final Style style;
+
+        private Slot(String name, Style style) {
+            this.name = name;
+            this.style = style;
+        }
+    }
+}
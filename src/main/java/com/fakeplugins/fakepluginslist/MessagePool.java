@@ -0,0 +1,28 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class MessagePool {
+
+    private final Component[] messages;
+    private final boolean random;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    MessagePool(Component[] messages, boolean random) {
+        this.messages = messages;
+        this.random = random;
+    }
+
+    Component next() {
+        if (messages.length == 1) {
+            return messages[0];
+        }
+        int index = random
+                ? ThreadLocalRandom.current().nextInt(messages.length)
+                : Math.floorMod(cursor.getAndIncrement(), messages.length);
+        return messages[index];
+    }
+}
@@ -0,0 +1,147 @@
+package com.fakeplugins.fakepluginslist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+final class Metrics {
+
+    enum Timer {
+        PLUGINS_COMMAND("/plugins"),
+        VERSION_COMMAND("/version"),
+        RELOAD("reload");
+
+        private final String label;
+
+        Timer(String label) {
+            this.label = label;
+        }
+    }
+
+    enum Counter {
+        FAKE_VIEW,
+        REAL_VIEW,
+        POOL_HIT,
+        POOL_MISS,
+        PLAYER_ORDER_HIT,
+        PLAYER_ORDER_MISS,
+        LIST_MESSAGES,
+        LIST_BYTES,
+        REAL_CACHE_HIT,
+        REAL_CACHE_MISS,
+        THROTTLED
+    }
+
+    private final long startedAt = System.currentTimeMillis();
+    private final LatencyHistogram[] timers = new LatencyHistogram[Timer.values().length];
+    private final LongAdder[] counters = new LongAdder[Counter.values().length];
+
+    Metrics() {
+        for (int i = 0; i < timers.length; i++) {
+            timers[i] = new LatencyHistogram();
+        }
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+    }
+
+    void increment(Counter counter) {
+        counters[counter.ordinal()].increment();
+    }
+
+    void add(Counter counter, long amount) {
+        counters[counter.ordinal()].add(amount);
+    }
+
+    void record(Timer timer, long nanos) {
+        timers[timer.ordinal()].record(nanos);
+    }
+
+    long count(Counter counter) {
+        return counters[counter.ordinal()].sum();
+    }
+
+    List<String> report() {
+        List<String> lines = new ArrayList<>();
+        lines.add("FakePluginsList stats (uptime " + formatDuration(System.currentTimeMillis() - startedAt) + "):");
+        for (Timer timer : Timer.values()) {
+            lines.add(" " + timer.label + ": " + timers[timer.ordinal()].summary());
+        }
+        lines.add(" Views: fake " + count(Counter.FAKE_VIEW) + ", real " + count(Counter.REAL_VIEW));
+        long messages = count(Counter.LIST_MESSAGES);
+        lines.add(" Fake /plugins output: " + count(Counter.LIST_BYTES) + " bytes in " + messages + " messages"
+                + (messages == 0 ? "" : ", avg " + count(Counter.LIST_BYTES) / messages + " bytes"));
+        lines.add(" Message pool: " + hitRate(Counter.POOL_HIT, Counter.POOL_MISS));
+        lines.add(" Per-player order cache: " + hitRate(Counter.PLAYER_ORDER_HIT, Counter.PLAYER_ORDER_MISS));
+        lines.add(" Real list cache: " + hitRate(Counter.REAL_CACHE_HIT, Counter.REAL_CACHE_MISS));
+        lines.add(" Throttled: " + count(Counter.THROTTLED));
+        return lines;
+    }
+
+    private String hitRate(Counter hits, Counter misses) {
+        long hit = count(hits);
+        long miss = count(misses);
+        long total = hit + miss;
+        String rate = total == 0 ? "-" : String.format(Locale.ROOT, "%.1f%%", hit * 100.0D / total);
+        return hit + " hits, " + miss + " misses (" + rate + ")";
+    }
+
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000L;
+        return (seconds / 3600L) + "h " + (seconds / 60L % 60L) + "m " + (seconds % 60L) + "s";
+    }
+
+    private static String formatMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.1fus", nanos / 1000.0D);
+    }
+
+    private static final class LatencyHistogram {
+
+        private static final int BUCKETS = 32;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        private LatencyHistogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long value = Math.max(0L, nanos);
+            int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value >>> 8));
+            buckets[bucket].increment();
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+        }
+
+        private long percentile(long samples, double fraction) {
+            long target = (long) Math.ceil(samples * fraction);
+            long seen = 0L;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i].sum();
+                if (seen >= target) {
+                    return 256L << i;
+                }
+            }
+            return max.get();
+        }
+
+        private String summary() {
+            long samples = count.sum();
+            if (samples == 0L) {
+                return "0 calls";
+            }
+            return samples + " calls, avg " + formatMicros(total.sum() / samples)
+                    + ", p50 <" + formatMicros(percentile(samples, 0.50D))
+                    + ", p99 <" + formatMicros(percentile(samples, 0.99D))
+                    + ", max " + formatMicros(max.get());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.Bukkit;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+final class PlaceholderRegistry {
+
+    static final String COUNT = "count";
+    static final String ENABLED_COUNT = "enabled_count";
+    static final String DISABLED_COUNT = "disabled_count";
+
+    private final Map<String, LivePlaceholder> placeholders = new ConcurrentHashMap<>();
+
+    static PlaceholderRegistry withDefaults() {
+        PlaceholderRegistry registry = new PlaceholderRegistry();
+        registry.register("online", () -> String.valueOf(Bukkit.getOnlinePlayers().size()), 1000L);
+        registry.register("max_players", () -> String.valueOf(Bukkit.getMaxPlayers()), 60_000L);
+        registry.register("tps", () -> String.format(Locale.ROOT, "%.1f", Math.min(20.0D, Bukkit.getTPS()[0])), 5000L);
+        return registry;
+    }
+
+    static boolean isCount(String name) {
+        return COUNT.equals(name) || ENABLED_COUNT.equals(name) || DISABLED_COUNT.equals(name);
+    }
+
+    void register(String name, Supplier<String> supplier, long cacheMillis) {
+        placeholders.put(name.toLowerCase(Locale.ROOT), new LivePlaceholder(supplier, cacheMillis));
+    }
+
+    boolean has(String name) {
+        return placeholders.containsKey(name);
+    }
+
+    String value(String name) {
+        LivePlaceholder placeholder = placeholders.get(name);
+        return placeholder == null ? "" : placeholder.value();
+    }
+
+    private static final class LivePlaceholder {
+        private final Supplier<String> supplier;
+        private final long cacheNanos;
+        private volatile CachedValue cached;
+
+        private LivePlaceholder(Supplier<String> supplier, long cacheMillis) {
+            this.supplier = supplier;
+            this.cacheNanos = Math.max(0L, cacheMillis) * 1_000_000L;
+        }
+
+        private String value() {
+            if (cacheNanos == 0L) {
+                return supplier.get();
+            }
+            long now = System.nanoTime();
+            CachedValue current = cached;
+            if (current == null || now - current.computedAt >= cacheNanos) {
+                current = new CachedValue(supplier.get(), now);
+                cached = current;
+            }
+            return current.value;
+        }
+    }
+
+    private static final class CachedValue {
+        private final String value;
+        private final long computedAt;
+
+        private CachedValue(String value, long computedAt) {
+            this.value = value;
+            this.computedAt = computedAt;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+final class PlayerOrderCache {
+
+    private final long salt = ThreadLocalRandom.current().nextLong();
+    private final int maxSize;
+    private final long rotationMillis;
+    private final long ttlNanos;
+    private final ConcurrentMap<UUID, PlayerOrder> orders = new ConcurrentHashMap<>();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+
+    private PlayerOrderCache(int maxSize, long rotationMillis, long ttlNanos) {
+        this.maxSize = maxSize;
+        this.rotationMillis = rotationMillis;
+        this.ttlNanos = ttlNanos;
+    }
+
+    static PlayerOrderCache load(ConfigurationSection config) {
+        if (config == null || !config.getBoolean("enabled", false)) {
+            return null;
+        }
+        int maxSize = Math.max(1, config.getInt("cache_size", 500));
+        long rotationMillis = Math.max(0L, config.getLong("salt_rotation_minutes", 60L)) * 60_000L;
+        long ttlNanos = Math.max(1L, config.getLong("cache_seconds", 300L)) * 1_000_000_000L;
+        return new PlayerOrderCache(maxSize, rotationMillis, ttlNanos);
+    }
+
+    PlayerOrder get(UUID uniqueId) {
+        long epoch = rotationMillis > 0 ? System.currentTimeMillis() / rotationMillis : 0L;
+        long now = System.nanoTime();
+        PlayerOrder order = orders.get(uniqueId);
+        if (order != null && order.epoch == epoch && now - order.createdAt < ttlNanos) {
+            order.lastAccess = now;
+            return order;
+        }
+        order = new PlayerOrder(seed(uniqueId, epoch), epoch, now);
+        orders.put(uniqueId, order);
+        if (orders.size() > maxSize) {
+            trim();
+        }
+        return order;
+    }
+
+    void evict(UUID uniqueId) {
+        orders.remove(uniqueId);
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<PlayerOrder> entries = new ArrayList<>(orders.values());
+            int excess = entries.size() - maxSize + maxSize / 10;
+            if (excess <= 0) {
+                return;
+            }
+            long[] accessed = new long[entries.size()];
+            for (int i = 0; i < accessed.length; i++) {
+                accessed[i] = entries.get(i).lastAccess;
+            }
+            Arrays.sort(accessed);
+            long cutoff = accessed[Math.min(excess, accessed.length) - 1];
+            orders.values().removeIf(order -> order.lastAccess <= cutoff);
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private long seed(UUID uniqueId, long epoch) {
+        return salt ^ uniqueId.getMostSignificantBits() ^ Long.rotateLeft(uniqueId.getLeastSignificantBits(), 32)
+                ^ epoch * 0x9E3779B97F4A7C15L;
+    }
+
+    static final class PlayerOrder {
+        private final long seed;
+        private final long epoch;
+        private final long createdAt;
+        private volatile long lastAccess;
+        volatile Component pluginsList;
+        volatile Component paperLine;
+        volatile Component bukkitLine;
+        volatile Component versionLine;
+
+        private PlayerOrder(long seed, long epoch, long createdAt) {
+            this.seed = seed;
+            this.epoch = epoch;
+            this.createdAt = createdAt;
+            this.lastAccess = createdAt;
+        }
+
+        int[] permute(int[] indexes, int stream) {
+            int[] order = indexes.clone();
+            SplittableRandom random = new SplittableRandom(seed + stream * 0x9E3779B97F4A7C15L);
+            for (int i = order.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = order[i];
+                order[i] = order[j];
+                order[j] = swap;
+            }
+            return order;
+        }
+    }
+}
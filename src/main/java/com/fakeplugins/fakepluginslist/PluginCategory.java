@@ -0,0 +1,10 @@
+package com.fakeplugins.fakepluginslist;
+
+enum PluginCategory {
+    PAPER,
+    BUKKIT;
+
+    static PluginCategory of(String name) {
+        return "paper".equalsIgnoreCase(name) ? PAPER : BUKKIT;
+    }
+}
@@ -0,0 +1,67 @@
+package com.fakeplugins.fakepluginslist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+final class PluginIndex {
+
+    private final Map<String, CompiledPlugin> byName;
+    private final String[] sortedKeys;
+    private final String[] sortedNames;
+
+    PluginIndex(CompiledPlugin[] entries, int[] completable) {
+        Map<String, CompiledPlugin> names = new HashMap<>(entries.length * 2);
+        for (CompiledPlugin entry : entries) {
+            names.putIfAbsent(key(entry.plugin.name), entry);
+        }
+        byName = names;
+
+        List<CompiledPlugin> sorted = new ArrayList<>(completable.length);
+        for (int index : completable) {
+            sorted.add(entries[index]);
+        }
+        sorted.sort(Comparator.comparing(entry -> key(entry.plugin.name)));
+        sortedKeys = new String[sorted.size()];
+        sortedNames = new String[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            sortedKeys[i] = key(sorted.get(i).plugin.name);
+            sortedNames[i] = sorted.get(i).plugin.name;
+        }
+    }
+
+    static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    CompiledPlugin find(String name) {
+        if (name == null || name.isEmpty()) {
+            return null;
+        }
+        return byName.get(key(name));
+    }
+
+    List<String> complete(String prefix, int limit) {
+        String key = key(prefix);
+        int index = Arrays.binarySearch(sortedKeys, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index >= sortedKeys.length || !sortedKeys[index].startsWith(key)) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (int i = index; i < sortedKeys.length && result.size() < limit; i++) {
+            if (!sortedKeys[i].startsWith(key)) {
+                break;
+            }
+            result.add(sortedNames[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.entity.Entity;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class ProfileSelector {
+
+    private static final Set<String> GLOBAL_KEYS = new HashSet<>(Arrays.asList(
+            "profiles", "rate_limit", "stats_file", "watch_config", "audit_log", "catalogue_snapshot"));
+    private static final Set<String> SELECTOR_KEYS = new HashSet<>(Arrays.asList(
+            "worlds", "permission", "commands"));
+    private static final List<String> CATALOGUE_KEYS = Arrays.asList(
+            "plugins", "catalogue_file", "success_plugins", "failed_plugins");
+
+    final List<Profile> profiles;
+    private final Map<String, Profile[]> byWorld;
+    private final Profile[] anyWorld;
+
+    private ProfileSelector(List<Profile> profiles) {
+        this.profiles = Collections.unmodifiableList(profiles);
+        Set<String> worlds = new LinkedHashSet<>();
+        for (Profile profile : profiles) {
+            worlds.addAll(profile.worlds);
+        }
+        byWorld = new HashMap<>();
+        for (String world : worlds) {
+            byWorld.put(world, candidates(profiles, world));
+        }
+        anyWorld = candidates(profiles, null);
+    }
+
+    static ProfileSelector load(ConfigurationSection config, Path dataFolder, PlaceholderRegistry placeholders,
+                                CatalogueSnapshot catalogues) {
+        ConfigurationSection section = config.getConfigurationSection("profiles");
+        if (section == null) {
+            return null;
+        }
+        List<Profile> profiles = new ArrayList<>();
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection profile = section.getConfigurationSection(name);
+            if (profile == null) {
+                continue;
+            }
+            profiles.add(new Profile(name,
+                    new HashSet<>(profile.getStringList("worlds")),
+                    profile.getString("permission", ""),
+                    ConfigSnapshot.load(overlay(config, profile), dataFolder, placeholders, catalogues,
+                            "profiles." + name)));
+        }
+        return profiles.isEmpty() ? null : new ProfileSelector(profiles);
+    }
+
+    ConfigSnapshot select(CommandSender sender) {
+        if (!(sender instanceof Entity)) {
+            return null;
+        }
+        Profile[] candidates = byWorld.getOrDefault(((Entity) sender).getWorld().getName(), anyWorld);
+        for (Profile profile : candidates) {
+            if (profile.permission.isEmpty() || sender.hasPermission(profile.permission)) {
+                return profile.snapshot;
+            }
+        }
+        return null;
+    }
+
+    private static Profile[] candidates(List<Profile> profiles, String world) {
+        List<Profile> matching = new ArrayList<>();
+        for (Profile profile : profiles) {
+            if (profile.worlds.isEmpty() || profile.worlds.contains(world)) {
+                matching.add(profile);
+            }
+        }
+        return matching.toArray(new Profile[0]);
+    }
+
+    private static ConfigurationSection overlay(ConfigurationSection config, ConfigurationSection profile) {
+        boolean ownCatalogue = false;
+        for (String key : CATALOGUE_KEYS) {
+            if (profile.contains(key)) {
+                ownCatalogue = true;
+                break;
+            }
+        }
+        MemoryConfiguration merged = new MemoryConfiguration();
+        for (String key : config.getKeys(false)) {
+            if (!GLOBAL_KEYS.contains(key) && !(ownCatalogue && CATALOGUE_KEYS.contains(key))) {
+                merged.set(key, config.get(key));
+            }
+        }
+        for (String key : profile.getKeys(false)) {
+            if (!GLOBAL_KEYS.contains(key) && !SELECTOR_KEYS.contains(key)) {
+                merged.set(key, profile.get(key));
+            }
+        }
+        return merged;
+    }
+
+    static final class Profile {
+        final String name;
+        private final Set<String> worlds;
+        private final String permission;
+        final ConfigSnapshot snapshot;
+
+        private Profile(String name, Set<String> worlds, String permission, ConfigSnapshot snapshot) {
+            this.name = name;
+            this.worlds = worlds;
+            this.permission = permission;
+            this.snapshot = snapshot;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.entity.Entity;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+final class RateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final AtomicLong globalArrival = new AtomicLong(System.nanoTime());
+    private final ConcurrentMap<Object, AtomicLong> senderArrivals = new ConcurrentHashMap<>();
+    private volatile Settings settings;
+
+    static Settings load(ConfigurationSection config) {
+        if (config == null || !config.getBoolean("enabled", false)) {
+            return null;
+        }
+        double senderRate = config.getDouble("per_sender_per_second", 1.0D);
+        if (senderRate <= 0) {
+            return null;
+        }
+        int senderBurst = Math.max(1, config.getInt("per_sender_burst", 5));
+        double globalRate = config.getDouble("global_per_second", 0.0D);
+        int globalBurst = Math.max(1, config.getInt("global_burst", (int) Math.max(1, globalRate)));
+        Component message = "message".equalsIgnoreCase(config.getString("throttled_reply", "drop"))
+                ? TextFormat.parseText(config.getString("throttled_message",
+                "<red>You are doing that too often. Please wait a moment.</red>"))
+                : null;
+        return new Settings(senderRate, senderBurst, globalRate, globalBurst, message);
+    }
+
+    void apply(Settings next) {
+        if (next == null) {
+            senderArrivals.clear();
+        }
+        settings = next;
+    }
+
+    boolean allow(CommandSender sender) {
+        Settings current = settings;
+        if (current == null || tryAcquire(current, sender)) {
+            return true;
+        }
+        if (current.throttledMessage != null) {
+            sender.sendMessage(current.throttledMessage);
+        }
+        return false;
+    }
+
+    void evict(UUID uniqueId) {
+        senderArrivals.remove(uniqueId);
+    }
+
+    private boolean tryAcquire(Settings current, CommandSender sender) {
+        if (sender instanceof ConsoleCommandSender) {
+            return true;
+        }
+        long now = System.nanoTime();
+        AtomicLong arrival = senderArrivals.computeIfAbsent(key(sender), ignored -> new AtomicLong(now));
+        if (!acquire(arrival, now, current.senderInterval, current.senderTolerance)) {
+            return false;
+        }
+        return current.globalInterval == 0L
+                || acquire(globalArrival, now, current.globalInterval, current.globalTolerance);
+    }
+
+    private static Object key(CommandSender sender) {
+        if (sender instanceof Entity) {
+            return ((Entity) sender).getUniqueId();
+        }
+        return sender.getName();
+    }
+
+    private static boolean acquire(AtomicLong arrival, long now, long interval, long tolerance) {
+        while (true) {
+            long theoretical = arrival.get();
+            if (theoretical - now > tolerance) {
+                return false;
+            }
+            long next = Math.max(theoretical, now) + interval;
+            if (arrival.compareAndSet(theoretical, next)) {
+                return true;
+            }
+        }
+    }
+
+    static final class Settings {
+        private final long senderInterval;
+        private final long senderTolerance;
+        private final long globalInterval;
+        private final long globalTolerance;
+        private final Component throttledMessage;
+
+        private Settings(double senderRate, int senderBurst, double globalRate, int globalBurst,
+                         Component throttledMessage) {
+            senderInterval = (long) (NANOS_PER_SECOND / senderRate);
+            senderTolerance = senderInterval * (senderBurst - 1);
+            globalInterval = globalRate > 0 ? (long) (NANOS_PER_SECOND / globalRate) : 0L;
+            globalTolerance = globalInterval * (globalBurst - 1);
+            this.throttledMessage = throttledMessage;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+final class RealPluginsView {
+
+    private final List<Component> names;
+    final int enabledCount;
+    final int generation;
+    final Component versionLine;
+    private final Component body;
+    private volatile RenderedList rendered;
+    private volatile Component versionInfo;
+
+    RealPluginsView(Plugin[] loaded, int generation) {
+        List<Component> components = new ArrayList<>();
+        int enabled = 0;
+        for (Plugin plugin : loaded) {
+            if (plugin == null) {
+                continue;
+            }
+            String name = plugin.getDescription().getName();
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+            if (plugin.isEnabled()) {
+                enabled++;
+            }
+            components.add(Component.text(name, plugin.isEnabled() ? NamedTextColor.GREEN : NamedTextColor.RED));
+        }
+        names = Collections.unmodifiableList(components);
+        enabledCount = enabled;
+        this.generation = generation;
+        versionLine = join(TextFormat.parseText("&fPlugins (" + names.size() + "): "), names);
+        body = join(TextFormat.LIST_PREFIX, names);
+    }
+
+    Component versionInfo(Component header) {
+        Component current = versionInfo;
+        if (current == null) {
+            current = compose(header, versionLine);
+            versionInfo = current;
+        }
+        return current;
+    }
+
+    Component pluginsList(ConfigSnapshot snapshot) {
+        RenderedList current = rendered;
+        if (current == null || current.snapshot != snapshot) {
+            Component list = body;
+            if (snapshot.randomOrder) {
+                List<Component> order = new ArrayList<>(names);
+                Collections.shuffle(order);
+                list = join(TextFormat.LIST_PREFIX, order);
+            }
+            current = new RenderedList(snapshot, snapshot.serverHeaderTemplate.bindCounts(names.size(), enabledCount), list);
+            rendered = current;
+        }
+        if (current.message != null) {
+            return current.message;
+        }
+        return compose(current.header.render(), current.list);
+    }
+
+    private static Component compose(Component header, Component list) {
+        return Component.text()
+                .append(header)
+                .append(Component.newline())
+                .append(list)
+                .build();
+    }
+
+    private static Component join(Component prefix, List<Component> entries) {
+        TextComponent.Builder line = Component.text().append(prefix);
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                line.append(TextFormat.SEPARATOR);
+            }
+            line.append(entries.get(i));
+        }
+        return line.build();
+    }
+
+    private static final class RenderedList {
+        private final ConfigSnapshot snapshot;
+        private final HeaderTemplate header;
+        private final Component list;
+        private final Component message;
+
+        private RenderedList(ConfigSnapshot snapshot, HeaderTemplate header, Component list) {
+            this.snapshot = snapshot;
+            this.header = header;
+            this.list = list;
+            this.message = header.isLive() ? null : compose(header.render(), list);
+        }
+    }
+}
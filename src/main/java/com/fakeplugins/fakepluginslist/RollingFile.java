@@ -0,0 +1,40 @@
+package com.fakeplugins.fakepluginslist;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+final class RollingFile {
+
+    private final Path file;
+    private final Path backup;
+    private final long maxBytes;
+
+    RollingFile(Path file, long maxBytes) {
+        this.file = file;
+        this.backup = file.resolveSibling(file.getFileName() + ".1");
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized void append(List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        if (maxBytes > 0 && Files.exists(file) && Files.size(file) >= maxBytes) {
+            Files.move(file, backup, StandardCopyOption.REPLACE_EXISTING);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+final class TextFormat {
+
+    private static final MiniMessage MINI = MiniMessage.miniMessage();
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacyAmpersand();
+    private static final GsonComponentSerializer GSON = GsonComponentSerializer.gson();
+
+    static final Component LIST_PREFIX = parseText(" &8- ");
+    static final Component LIST_EMPTY = parseText(" &8-");
+    static final Component SEPARATOR = parseText("&f, ");
+
+    private TextFormat() {
+    }
+
+    static Component parseText(String text) {
+        if (text == null) {
+            return Component.empty();
+        }
+        if (text.indexOf('<') >= 0) {
+            return MINI.deserialize(text);
+        }
+        return LEGACY.deserialize(text);
+    }
+
+    static int serializedBytes(Component component) {
+        return GSON.serialize(component).getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,81 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+final class VersionCheck {
+
+    private final Component checkingMessage;
+    private final Component resultMessage;
+    private final long delayMillis;
+    private final long cacheNanos;
+    private final Set<CommandSender> waiting = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean pending;
+    private boolean checked;
+    private long checkedAt;
+
+    private VersionCheck(Component checkingMessage, Component resultMessage, long delayMillis, long cacheNanos) {
+        this.checkingMessage = checkingMessage;
+        this.resultMessage = resultMessage;
+        this.delayMillis = delayMillis;
+        this.cacheNanos = cacheNanos;
+    }
+
+    static VersionCheck load(ConfigurationSection config) {
+        if (config == null || !config.getBoolean("enabled", false)) {
+            return null;
+        }
+        return new VersionCheck(
+                TextFormat.parseText(config.getString("checking_message", "<italic>Checking version, please wait...</italic>")),
+                TextFormat.parseText(config.getString("result_message", "You are running the latest version")),
+                Math.max(1L, config.getLong("delay_millis", 1500L)),
+                Math.max(0L, config.getLong("cache_seconds", 600L)) * 1_000_000_000L);
+    }
+
+    void send(Plugin plugin, CommandSender sender) {
+        boolean cached;
+        boolean schedule = false;
+        synchronized (this) {
+            cached = checked && System.nanoTime() - checkedAt < cacheNanos;
+            if (!cached) {
+                if (!waiting.add(sender)) {
+                    return;
+                }
+                schedule = !pending;
+                pending = true;
+            }
+        }
+        if (cached) {
+            sender.sendMessage(resultMessage);
+            return;
+        }
+        sender.sendMessage(checkingMessage);
+        if (schedule) {
+            Bukkit.getAsyncScheduler().runDelayed(plugin, task -> complete(), delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void complete() {
+        List<CommandSender> senders;
+        synchronized (this) {
+            senders = new ArrayList<>(waiting);
+            waiting.clear();
+            pending = false;
+            checked = true;
+            checkedAt = System.nanoTime();
+        }
+        for (CommandSender sender : senders) {
+            sender.sendMessage(resultMessage);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.command.CommandSender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogTest {
+
+    private static final String[] NO_ARGS = new String[0];
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void fullRingCountsDroppedEntries() throws IOException {
+        Path file = folder.resolve("audit.log");
+        AuditLog log = new AuditLog(file, 100, 0L);
+        CommandSender sender = new CapturingSender(false).sender();
+        for (int i = 0; i < 200; i++) {
+            log.record(sender, "plugins", NO_ARGS, AuditLog.View.FAKE);
+        }
+        assertEquals(72L, log.dropped());
+
+        log.flush();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(129, lines.size());
+        assertTrue(lines.get(0).endsWith(" benchmark /plugins fake"), lines.get(0));
+        assertTrue(lines.get(128).endsWith(" dropped 72 entries, audit buffer full"), lines.get(128));
+        assertEquals("Audited senders: 1, dropped entries: 72", log.report(null, 10).get(0));
+        assertTrue(log.report("Benchmark", 10).get(0).startsWith("benchmark: 128 queries (128 fake, 0 real, 0 throttled)"));
+    }
+
+    @Test
+    void flushedSlotsAreReusedAndDropsReportedOnce() throws IOException {
+        Path file = folder.resolve("audit.log");
+        AuditLog log = new AuditLog(file, 16, 0L);
+        CommandSender sender = new CapturingSender(false).sender();
+        for (int i = 0; i < 20; i++) {
+            log.record(sender, "version", new String[]{"Vault"}, AuditLog.View.THROTTLED);
+        }
+        log.flush();
+        assertEquals(17, Files.readAllLines(file, StandardCharsets.UTF_8).size());
+
+        for (int i = 0; i < 16; i++) {
+            log.record(sender, "plugins", NO_ARGS, AuditLog.View.REAL);
+        }
+        log.flush();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(33, lines.size());
+        assertTrue(lines.get(15).endsWith(" /version Vault throttled"), lines.get(15));
+        assertTrue(lines.get(32).endsWith(" /plugins real"), lines.get(32));
+        assertEquals(4L, log.dropped());
+        assertTrue(log.report("benchmark", 10).get(0).startsWith("benchmark: 32 queries (0 fake, 16 real, 16 throttled)"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+
+final class CapturingSender {
+
+    private Component last;
+    private final CommandSender sender;
+
+    CapturingSender(boolean permitted) {
+        this(permitted, null);
+    }
+
+    CapturingSender(boolean permitted, UUID uniqueId) {
+        Class<?> type = uniqueId == null ? CommandSender.class : Player.class;
+        sender = (CommandSender) Proxy.newProxyInstance(type.getClassLoader(),
+                new Class<?>[]{type}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendMessage":
+                            for (Object arg : args) {
+                                if (arg instanceof Component) {
+                                    last = (Component) arg;
+                                }
+                            }
+                            return null;
+                        case "hasPermission":
+                        case "isPermissionSet":
+                            return permitted;
+                        case "isOp":
+                            return false;
+                        case "getName":
+                            return "benchmark";
+                        case "getUniqueId":
+                            return uniqueId;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "CapturingSender";
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    CommandSender sender() {
+        return sender;
+    }
+
+    Component last() {
+        return last;
+    }
+
+    Component take() {
+        Component message = last;
+        last = null;
+        return message;
+    }
+}
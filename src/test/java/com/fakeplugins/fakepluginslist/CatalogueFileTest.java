@@ -0,0 +1,115 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogueFileTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void csvKeepsQuotedCommasAndQuotes() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<FakePlugin> plugins = read("catalogue.csv", errors,
+                "\"Essentials, Extra\",paper,false,\"2.0 \"\"beta\"\"\",\"Homes, warps\",\"md_5; kenny\"");
+
+        assertTrue(errors.isEmpty(), errors.toString());
+        assertEquals(1, plugins.size());
+        FakePlugin plugin = plugins.get(0);
+        assertEquals("Essentials, Extra", plugin.name);
+        assertEquals(PluginCategory.PAPER, plugin.category);
+        assertFalse(plugin.enabled);
+        assertEquals("2.0 \"beta\"", plugin.version);
+        assertEquals("Homes, warps", plugin.description);
+        assertEquals(Arrays.asList("md_5", "kenny"), plugin.authors);
+    }
+
+    @Test
+    void csvHeaderReordersColumns() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<FakePlugin> plugins = read("catalogue.csv", errors,
+                "Name,Version,Authors,Unused",
+                "WorldEdit,7.3.0,sk89q,ignored");
+
+        assertTrue(errors.isEmpty(), errors.toString());
+        assertEquals(1, plugins.size());
+        FakePlugin plugin = plugins.get(0);
+        assertEquals("WorldEdit", plugin.name);
+        assertEquals("7.3.0", plugin.version);
+        assertEquals(Arrays.asList("sk89q"), plugin.authors);
+        assertEquals("", plugin.description);
+        assertEquals(PluginCategory.BUKKIT, plugin.category);
+        assertTrue(plugin.enabled);
+    }
+
+    @Test
+    void csvErrorsNameTheirLine() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<FakePlugin> plugins = read("catalogue.csv", errors,
+                "# comment",
+                "",
+                "Vault,bukkit",
+                "\"Broken,bukkit",
+                ",bukkit",
+                "LuckPerms,paper");
+
+        assertEquals(2, plugins.size());
+        assertEquals("Vault", plugins.get(0).name);
+        assertEquals("LuckPerms", plugins.get(1).name);
+        assertEquals(Arrays.asList("line 4: unterminated quoted field", "line 5: missing name"), errors);
+    }
+
+    @Test
+    void jsonLinesReportMalformedEntries() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<FakePlugin> plugins = read("catalogue.jsonl", errors,
+                "{\"name\": \"Vault\", \"authors\": [\"Sleaker\", \" \"], \"enabled\": \"false\"}",
+                "{\"name\": \"Broken\",",
+                "# comment",
+                "{\"version\": \"1.0\"}",
+                "{\"name\": \"LuckPerms\", \"category\": \"paper\", \"extra\": {\"nested\": 1}}");
+
+        assertEquals(2, plugins.size());
+        assertEquals("Vault", plugins.get(0).name);
+        assertFalse(plugins.get(0).enabled);
+        assertEquals(Arrays.asList("Sleaker"), plugins.get(0).authors);
+        assertEquals(PluginCategory.PAPER, plugins.get(1).category);
+        assertEquals(2, errors.size());
+        assertTrue(errors.get(0).startsWith("line 2: malformed JSON at column "), errors.get(0));
+        assertEquals("line 4: missing \"name\"", errors.get(1));
+    }
+
+    @Test
+    void jsonLinesRejectTrailingContent() throws IOException {
+        List<String> errors = new ArrayList<>();
+        List<FakePlugin> plugins = read("catalogue.jsonl", errors,
+                "{\"name\": \"First\"} {\"name\": \"Second\"}",
+                "{\"name\": \"Third\"}");
+
+        assertEquals(1, plugins.size());
+        assertEquals("Third", plugins.get(0).name);
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).startsWith("line 1: "), errors.get(0));
+    }
+
+    private List<FakePlugin> read(String name, List<String> errors, String... lines) throws IOException {
+        Path file = folder.resolve(name);
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+        List<FakePlugin> plugins = new ArrayList<>();
+        CatalogueFile.read(file, plugins, errors);
+        return plugins;
+    }
+}
@@ -0,0 +1,133 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogueSnapshotTest {
+
+    private static final byte[] CONFIG = "plugins: []\n".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void savedCatalogueReadsBack() throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        CatalogueSnapshot written = CatalogueSnapshot.open(CONFIG, config, folder, "1.0");
+        assertFalse(written.loaded);
+        written.put("", catalogue());
+        written.put("staff", new CatalogueSnapshot.Catalogue(Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList()));
+        written.fullLoadNanos = 12_345L;
+        assertTrue(written.changed());
+        written.save();
+        assertFalse(written.changed());
+
+        CatalogueSnapshot read = CatalogueSnapshot.open(CONFIG, config, folder, "1.0");
+        assertTrue(read.loaded);
+        assertFalse(read.changed());
+        assertEquals(12_345L, read.fullLoadNanos);
+        CatalogueSnapshot.Catalogue root = read.get("");
+        assertEquals(2, root.plugins.size());
+        FakePlugin first = root.plugins.get(0);
+        assertEquals("Essentials", first.name);
+        assertFalse(first.enabled);
+        assertEquals("2.20.1", first.version);
+        assertEquals("Homes, warps & kits", first.description);
+        assertEquals(Arrays.asList("md_5", "kenny"), first.authors);
+        assertEquals(PluginCategory.BUKKIT, first.category);
+        FakePlugin second = root.plugins.get(1);
+        assertEquals("LuckPerms", second.name);
+        assertTrue(second.enabled);
+        assertEquals(Collections.emptyList(), second.authors);
+        assertEquals(PluginCategory.PAPER, second.category);
+        assertEquals(Arrays.asList("line 3: missing name"), root.errors);
+        assertEquals(Arrays.asList("Essentials"), root.duplicates);
+        assertTrue(read.get("staff").plugins.isEmpty());
+    }
+
+    @Test
+    void changedConfigIgnoresSnapshot() throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        saveRoot(CatalogueSnapshot.open(CONFIG, config, folder, "1.0"));
+
+        byte[] edited = "plugins: [] # edited\n".getBytes(StandardCharsets.UTF_8);
+        CatalogueSnapshot stale = CatalogueSnapshot.open(edited, config, folder, "1.0");
+        assertFalse(stale.loaded);
+        assertNull(stale.get(""));
+        assertFalse(CatalogueSnapshot.open(CONFIG, config, folder, "1.1").loaded);
+        assertTrue(CatalogueSnapshot.open(CONFIG, config, folder, "1.0").loaded);
+    }
+
+    @Test
+    void changedCatalogueFileIgnoresSnapshot() throws IOException {
+        Path catalogueFile = folder.resolve("catalogue.csv");
+        Files.write(catalogueFile, Arrays.asList("Vault,bukkit"), StandardCharsets.UTF_8);
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("catalogue_file", "catalogue.csv");
+        saveRoot(CatalogueSnapshot.open(CONFIG, config, folder, "1.0"));
+        assertTrue(CatalogueSnapshot.open(CONFIG, config, folder, "1.0").loaded);
+
+        Files.write(catalogueFile, Arrays.asList("Vault,bukkit", "LuckPerms,paper"), StandardCharsets.UTF_8);
+        assertFalse(CatalogueSnapshot.open(CONFIG, config, folder, "1.0").loaded);
+    }
+
+    @Test
+    void corruptSnapshotIsIgnored() throws IOException {
+        YamlConfiguration config = new YamlConfiguration();
+        saveRoot(CatalogueSnapshot.open(CONFIG, config, folder, "1.0"));
+        Path file = folder.resolve(CatalogueSnapshot.FILE_NAME);
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 3));
+
+        CatalogueSnapshot read = CatalogueSnapshot.open(CONFIG, config, folder, "1.0");
+        assertFalse(read.loaded);
+        assertNull(read.get(""));
+    }
+
+    @Test
+    void withoutPluginsDropsOnlyTheTopLevelList() {
+        String yaml = "server_header: \"Plugins\"\n"
+                + "plugins:\n"
+                + "  - name: Essentials\n"
+                + "\n"
+                + "# still inside the list\n"
+                + "- name: Vault\n"
+                + "plugins_shown: 3\n"
+                + "profiles:\n"
+                + "  staff:\n"
+                + "    plugins: []\n";
+
+        assertEquals("server_header: \"Plugins\"\n"
+                + "plugins_shown: 3\n"
+                + "profiles:\n"
+                + "  staff:\n"
+                + "    plugins: []\n", CatalogueSnapshot.withoutPlugins(yaml));
+    }
+
+    private static void saveRoot(CatalogueSnapshot snapshot) throws IOException {
+        snapshot.put("", catalogue());
+        snapshot.save();
+    }
+
+    private static CatalogueSnapshot.Catalogue catalogue() {
+        return new CatalogueSnapshot.Catalogue(Arrays.asList(
+                new FakePlugin("Essentials", false, "2.20.1", "Homes, warps & kits",
+                        Arrays.asList("md_5", "kenny"), PluginCategory.BUKKIT),
+                new FakePlugin("LuckPerms", true, "", "", Collections.emptyList(), PluginCategory.PAPER)),
+                Arrays.asList("line 3: missing name"), Arrays.asList("Essentials"));
+    }
+}
@@ -0,0 +1,45 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class Catalogues {
+
+    private static final String[] AUTHORS = {"TownyAdvanced", "TheBusyBiscuit", "LoneDev", "xikage", "Ticxo"};
+
+    private Catalogues() {
+    }
+
+    static YamlConfiguration synthetic(int size, boolean randomOrder, int poolSize) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("commands", Arrays.asList("plugins", "pl"));
+        config.set("show_disabled_plugins", true);
+        config.set("random_order", randomOrder);
+        config.set("random_order_pool_size", poolSize);
+        config.set("server_header", "<#349FDA>ⓘ<#349FDA> <white>Server Plugins (%count%<white>):");
+        config.set("paper_header", "<#0288D1>Paper Plugins (%count%):<#0288D1>");
+        config.set("bukkit_header", "<#ED8106>Bukkit Plugins (%count%):<#ED8106>");
+        List<Map<String, Object>> plugins = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", name(i));
+            entry.put("category", i % 3 == 0 ? "paper" : "bukkit");
+            entry.put("enabled", i % 10 != 0);
+            entry.put("version", (i % 7) + "." + (i % 13) + "." + (i % 5));
+            entry.put("description", "Synthetic plugin number " + i + " used for benchmarking");
+            entry.put("authors", Arrays.asList(AUTHORS[i % AUTHORS.length]));
+            plugins.add(entry);
+        }
+        config.set("plugins", plugins);
+        return config;
+    }
+
+    static String name(int index) {
+        return "Plugin" + index;
+    }
+}
@@ -0,0 +1,108 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandDispatcherStressTest {
+
+    private static final int THREADS = 8;
+    private static final int CALLS = 2_000;
+    private static final int SMALLEST_CATALOGUE = 500;
+    private static final Component HEADER = Component.text("This server is running a stress test");
+
+    private final YamlConfiguration[] configs = {
+            Catalogues.synthetic(SMALLEST_CATALOGUE, true, 4),
+            Catalogues.synthetic(800, false, 0)
+    };
+    private final StandInServer server = new StandInServer(40);
+    private final AtomicInteger reloads = new AtomicInteger();
+    private volatile CommandDispatcher dispatcher;
+    private volatile boolean running = true;
+
+    @Test
+    void commandsAnswerEveryCallWhileReloading() throws InterruptedException {
+        dispatcher = new CommandDispatcher(null, server.pluginManager(), HEADER, this::reload);
+        dispatcher.publish(ConfigSnapshot.load(configs[0], Paths.get(""), null));
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        CapturingSender admin = new CapturingSender(true);
+        Thread reloader = new Thread(() -> {
+            try {
+                while (running) {
+                    dispatcher.executePlugins(admin.sender(), "plugins", new String[]{"reload"});
+                    dispatcher.pluginsChanged();
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            CapturingSender sender = new CapturingSender(i % 4 == 0, UUID.randomUUID());
+            workers.add(new Thread(() -> {
+                try {
+                    call(sender, failures);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }));
+        }
+
+        reloader.start();
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        running = false;
+        reloader.join();
+
+        assertTrue(failures.isEmpty(), "failures: " + failures);
+        assertTrue(reloads.get() > 0, "no reload ran during the test");
+        Metrics metrics = dispatcher.metrics;
+        assertEquals((long) THREADS * CALLS,
+                metrics.count(Metrics.Counter.FAKE_VIEW) + metrics.count(Metrics.Counter.REAL_VIEW));
+        assertTrue(metrics.count(Metrics.Counter.REAL_VIEW) > 0, "no call took the real view");
+    }
+
+    private void call(CapturingSender capturing, Queue<Throwable> failures) {
+        CommandSender sender = capturing.sender();
+        for (int i = 0; i < CALLS; i++) {
+            String name = Catalogues.name(i % SMALLEST_CATALOGUE);
+            switch (i % 4) {
+                case 0:
+                    dispatcher.executePlugins(sender, "plugins", new String[0]);
+                    break;
+                case 1:
+                    dispatcher.executePlugins(sender, "plugins", new String[]{"info", name});
+                    break;
+                case 2:
+                    dispatcher.executeVersion(sender, "version", new String[0]);
+                    break;
+                default:
+                    dispatcher.executeVersion(sender, "version", new String[]{name});
+                    break;
+            }
+            if (capturing.take() == null) {
+                failures.add(new AssertionError("call " + i + " sent no message"));
+                return;
+            }
+        }
+    }
+
+    private void reload(CommandSender sender) {
+        dispatcher.publish(ConfigSnapshot.load(configs[reloads.incrementAndGet() & 1], Paths.get(""), null));
+    }
+}
@@ -0,0 +1,118 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandRegistrationsTest {
+
+    @Test
+    void renameRemovesOldAndAddsNew() {
+        CommandRegistrations.Diff diff = CommandRegistrations.diff(
+                Arrays.asList("plugins", "pl"), Arrays.asList("plugins", "mods"));
+
+        assertEquals(Arrays.asList("mods"), diff.added);
+        assertEquals(Arrays.asList("pl"), diff.removed);
+    }
+
+    @Test
+    void caseOnlyChangeIsNoChange() {
+        CommandRegistrations.Diff diff = CommandRegistrations.diff(
+                Arrays.asList("Plugins", "pl"), Arrays.asList("plugins", "PL"));
+
+        assertTrue(diff.isEmpty());
+    }
+
+    @Test
+    void duplicateLabelsAreDiffedOnce() {
+        CommandRegistrations.Diff diff = CommandRegistrations.diff(
+                Arrays.asList("plugins", "pl", "PL"), Arrays.asList("plugins", "mods", "MODS"));
+
+        assertEquals(Arrays.asList("mods"), diff.added);
+        assertEquals(Arrays.asList("pl"), diff.removed);
+    }
+
+    @Test
+    void labelRemovedAndAddedBackIsRegisteredAgain() {
+        Map<String, Command> known = new HashMap<>();
+        CommandRegistrations registrations = new CommandRegistrations();
+        register(registrations, known, "pl", new StubCommand("pl"));
+
+        CommandRegistrations.Diff removed = CommandRegistrations.diff(
+                Arrays.asList("plugins", "pl"), Collections.singletonList("plugins"));
+        registrations.remove(removed.removed, known);
+        assertTrue(known.isEmpty());
+        assertEquals(Collections.emptyList(), registrations.names());
+
+        CommandRegistrations.Diff added = CommandRegistrations.diff(
+                Collections.singletonList("plugins"), Arrays.asList("plugins", "pl"));
+        assertEquals(Arrays.asList("pl"), added.added);
+        assertEquals(Collections.emptyList(), added.removed);
+        Command again = new StubCommand("pl");
+        register(registrations, known, "pl", again);
+        assertSame(again, known.get("pl"));
+        assertSame(again, known.get("bukkit:pl"));
+    }
+
+    @Test
+    void emptyCommandListFallsBackToPlugins() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("commands", Collections.emptyList());
+        List<String> next = ConfigSnapshot.load(config, Paths.get(""), null).commands;
+
+        assertEquals(Collections.singletonList("plugins"), next);
+        CommandRegistrations.Diff diff = CommandRegistrations.diff(Arrays.asList("plugins", "pl"), next);
+        assertEquals(Collections.emptyList(), diff.added);
+        assertEquals(Arrays.asList("pl"), diff.removed);
+    }
+
+    @Test
+    void removeLeavesKeysTakenByAnotherCommand() {
+        Map<String, Command> known = new HashMap<>();
+        CommandRegistrations registrations = new CommandRegistrations();
+        register(registrations, known, "pl", new StubCommand("pl"));
+        Command other = new StubCommand("pl");
+        known.put("pl", other);
+
+        registrations.remove(Collections.singletonList("PL"), known);
+
+        assertSame(other, known.get("pl"));
+        assertFalse(known.containsKey("bukkit:pl"));
+        assertFalse(known.containsKey("fakepluginslist:pl"));
+        assertEquals(1, known.size());
+    }
+
+    private static void register(CommandRegistrations registrations, Map<String, Command> known, String name,
+                                 Command command) {
+        List<String> keys = Arrays.asList(name, "fakepluginslist:" + name, "bukkit:" + name);
+        for (String key : keys) {
+            known.put(key, command);
+        }
+        registrations.add(name, command, keys);
+    }
+
+    private static final class StubCommand extends Command {
+
+        private StubCommand(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean execute(CommandSender sender, String label, String[] args) {
+            return true;
+        }
+    }
+}
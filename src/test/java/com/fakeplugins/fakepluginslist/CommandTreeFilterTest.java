@@ -0,0 +1,112 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginIdentifiableCommand;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CommandTreeFilterTest {
+
+    @Test
+    void disabledFilterIsNotLoaded() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("command_tree.enabled", false);
+
+        assertNull(CommandTreeFilter.load(config.getConfigurationSection("command_tree")));
+        assertNull(CommandTreeFilter.load(null));
+    }
+
+    @Test
+    void namespacesAreHiddenUnlessKept() {
+        CommandTreeFilter filter = filter(Arrays.asList("Minecraft", "bukkit"), false, Collections.emptyList());
+
+        assertEquals(set("essentials:home", "towny:town", "fakepluginslist:plugins"), filter.hidden(commands()));
+    }
+
+    @Test
+    void pluginCommandsAreHiddenUnlessKept() {
+        CommandTreeFilter filter = filter(Arrays.asList("minecraft", "bukkit", "fakepluginslist"), true,
+                Arrays.asList("Spawn"));
+
+        assertEquals(set("essentials:home", "towny:town", "home", "town"), filter.hidden(commands()));
+    }
+
+    @Test
+    void pluginCommandsStayWhenNotHidden() {
+        CommandTreeFilter filter = filter(Arrays.asList("minecraft", "bukkit", "essentials", "towny", "fakepluginslist"), false,
+                Collections.emptyList());
+
+        assertEquals(Collections.emptySet(), filter.hidden(commands()));
+    }
+
+    private static CommandTreeFilter filter(List<String> keepNamespaces, boolean hidePluginCommands,
+                                            List<String> keepCommands) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("command_tree.enabled", true);
+        config.set("command_tree.keep_namespaces", keepNamespaces);
+        config.set("command_tree.hide_plugin_commands", hidePluginCommands);
+        config.set("command_tree.keep_commands", keepCommands);
+        return CommandTreeFilter.load(config.getConfigurationSection("command_tree"));
+    }
+
+    private static Map<String, Command> commands() {
+        Map<String, Command> known = new HashMap<>();
+        Command home = new OwnedCommand("home");
+        Command town = new OwnedCommand("town");
+        Command spawn = new OwnedCommand("spawn");
+        Command plugins = new PlainCommand("plugins");
+        known.put("home", home);
+        known.put("essentials:home", home);
+        known.put("town", town);
+        known.put("towny:town", town);
+        known.put("spawn", spawn);
+        known.put("minecraft:tp", new PlainCommand("tp"));
+        known.put("tp", new PlainCommand("tp"));
+        known.put("bukkit:version", new PlainCommand("version"));
+        known.put("version", new PlainCommand("version"));
+        known.put("plugins", plugins);
+        known.put("fakepluginslist:plugins", plugins);
+        return known;
+    }
+
+    private static Set<String> set(String... labels) {
+        return new HashSet<>(Arrays.asList(labels));
+    }
+
+    private static class PlainCommand extends Command {
+
+        PlainCommand(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean execute(CommandSender sender, String label, String[] args) {
+            return true;
+        }
+    }
+
+    private static final class OwnedCommand extends PlainCommand implements PluginIdentifiableCommand {
+
+        OwnedCommand(String name) {
+            super(name);
+        }
+
+        @Override
+        public Plugin getPlugin() {
+            return null;
+        }
+    }
+}
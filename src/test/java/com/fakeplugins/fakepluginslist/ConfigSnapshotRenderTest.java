@@ -0,0 +1,75 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ConfigSnapshotRenderTest {
+
+    @Test
+    void versionLineIsFlatForSmallCatalogue() {
+        assertFlatVersionLine(100);
+    }
+
+    @Test
+    void versionLineIsFlatForLargeCatalogue() {
+        assertFlatVersionLine(10_000);
+    }
+
+    @Test
+    void pluginsLinesAreFlatForLargeCatalogue() {
+        int size = 10_000;
+        ConfigSnapshot snapshot = ConfigSnapshot.load(catalogue(size), Paths.get(""), null);
+        List<Component> parts = snapshot.pluginsList().children();
+        assertFlatLine(parts.get(4), snapshot, size / 2, 0);
+        assertFlatLine(parts.get(8), snapshot, size / 2, 1);
+    }
+
+    private static void assertFlatVersionLine(int size) {
+        ConfigSnapshot snapshot = ConfigSnapshot.load(catalogue(size), Paths.get(""), null);
+        List<Component> children = snapshot.versionPluginsLine().children();
+        assertEquals(2 * size, children.size());
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                assertSame(TextFormat.SEPARATOR, children.get(2 * i));
+            }
+            assertSame(snapshot.entries[i].nameComponent, children.get(2 * i + 1));
+        }
+    }
+
+    private static void assertFlatLine(Component line, ConfigSnapshot snapshot, int size, int first) {
+        List<Component> children = line.children();
+        assertEquals(2 * size, children.size());
+        assertSame(TextFormat.LIST_PREFIX, children.get(0));
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                assertSame(TextFormat.SEPARATOR, children.get(2 * i));
+            }
+            assertSame(snapshot.entries[2 * i + first].listEntry, children.get(2 * i + 1));
+        }
+    }
+
+    private static YamlConfiguration catalogue(int size) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("random_order", false);
+        List<Map<String, Object>> plugins = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", "Plugin" + i);
+            entry.put("category", i % 2 == 0 ? "paper" : "bukkit");
+            entry.put("version", "1.0." + i);
+            plugins.add(entry);
+        }
+        config.set("plugins", plugins);
+        return config;
+    }
+}
@@ -0,0 +1,154 @@
+package com.fakeplugins.fakepluginslist;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeaderTemplateTest {
+
+    @Test
+    void countSlotsKeepTheSurroundingStyle() {
+        Component header = HeaderTemplate.compile(
+                "<red>Plugins (<bold>%count%</bold>):</red> <gray>%enabled_count% on, %disabled_count% off",
+                new PlaceholderRegistry()).bindCounts(10, 7).render();
+
+        assertEquals("Plugins (10): 7 on, 3 off", plainText(header));
+        Style count = styleOf(header, "10");
+        assertEquals(NamedTextColor.RED, count.color());
+        assertEquals(TextDecoration.State.TRUE, count.decoration(TextDecoration.BOLD));
+        assertEquals(NamedTextColor.RED, styleOf(header, "Plugins (").color());
+        assertEquals(TextDecoration.State.NOT_SET, styleOf(header, "Plugins (").decoration(TextDecoration.BOLD));
+        assertEquals(NamedTextColor.GRAY, styleOf(header, "7").color());
+        assertEquals(NamedTextColor.GRAY, styleOf(header, "3").color());
+    }
+
+    @Test
+    void legacyColoursApplyToSlots() {
+        Component header = HeaderTemplate.compile("&aPlugins &f(%count%)", new PlaceholderRegistry())
+                .bindCounts(4, 4).render();
+
+        assertEquals("Plugins (4)", plainText(header));
+        assertEquals(NamedTextColor.GREEN, styleOf(header, "Plugins ").color());
+        assertEquals(NamedTextColor.WHITE, styleOf(header, "4").color());
+    }
+
+    @Test
+    void livePlaceholdersAreFilledOnEveryRender() {
+        PlaceholderRegistry registry = new PlaceholderRegistry();
+        AtomicInteger online = new AtomicInteger(3);
+        registry.register("online", () -> String.valueOf(online.get()), 0L);
+        HeaderTemplate template = HeaderTemplate.compile("<aqua>%online% online</aqua>", registry).bindCounts(1, 1);
+
+        assertTrue(template.isLive());
+        Component first = template.render();
+        assertEquals("3 online", plainText(first));
+        assertEquals(NamedTextColor.AQUA, styleOf(first, "3").color());
+        online.set(12);
+        Component second = template.render();
+        assertEquals("12 online", plainText(second));
+        assertEquals(NamedTextColor.AQUA, styleOf(second, "12").color());
+    }
+
+    @Test
+    void constantHeaderIsBuiltOnce() {
+        HeaderTemplate template = HeaderTemplate.compile("<gold>Plugins (%count%) %unknown%", new PlaceholderRegistry())
+                .bindCounts(2, 1);
+
+        assertFalse(template.isLive());
+        assertSame(template.render(), template.render());
+        assertEquals("Plugins (2) %unknown%", plainText(template.render()));
+    }
+
+    @Test
+    void placeholdersInTagArgumentsAreReplaced() {
+        PlaceholderRegistry registry = new PlaceholderRegistry();
+        AtomicInteger online = new AtomicInteger(3);
+        registry.register("online", () -> String.valueOf(online.get()), 0L);
+        HeaderTemplate counts = HeaderTemplate.compile(
+                "<hover:show_text:'%enabled_count% enabled'><green>Plugins (%count%):</green></hover>", registry)
+                .bindCounts(10, 7);
+
+        assertFalse(counts.isLive());
+        Component header = counts.render();
+        assertEquals("Plugins (10):", plainText(header));
+        assertEquals("7 enabled", plainText(hoverText(header)));
+
+        HeaderTemplate live = HeaderTemplate.compile("<insert:%count%><hover:show_text:'%online% online'>Plugins",
+                registry).bindCounts(5, 5);
+        assertTrue(live.isLive());
+        assertEquals("3 online", plainText(hoverText(live.render())));
+        online.set(4);
+        Component rendered = live.render();
+        assertEquals("4 online", plainText(hoverText(rendered)));
+        assertEquals("5", insertionOf(rendered));
+    }
+
+    private static Component hoverText(Component component) {
+        HoverEvent<?> hover = component.hoverEvent();
+        if (hover != null) {
+            return (Component) hover.value();
+        }
+        for (Component child : component.children()) {
+            Component text = hoverText(child);
+            if (text != null) {
+                return text;
+            }
+        }
+        return null;
+    }
+
+    private static String insertionOf(Component component) {
+        if (component.insertion() != null) {
+            return component.insertion();
+        }
+        for (Component child : component.children()) {
+            String insertion = insertionOf(child);
+            if (insertion != null) {
+                return insertion;
+            }
+        }
+        return null;
+    }
+
+    private static String plainText(Component component) {
+        StringBuilder text = new StringBuilder();
+        if (component instanceof TextComponent) {
+            text.append(((TextComponent) component).content());
+        }
+        for (Component child : component.children()) {
+            text.append(plainText(child));
+        }
+        return text.toString();
+    }
+
+    private static Style styleOf(Component header, String content) {
+        Style style = find(header, content);
+        assertNotNull(style, "no part with content \"" + content + "\"");
+        return style;
+    }
+
+    private static Style find(Component component, String content) {
+        if (component instanceof TextComponent && ((TextComponent) component).content().equals(content)) {
+            return component.style();
+        }
+        for (Component child : component.children()) {
+            Style style = find(child, content);
+            if (style != null) {
+                return style;
+            }
+        }
+        return null;
+    }
+}
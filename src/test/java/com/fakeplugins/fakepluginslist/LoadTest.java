@@ -0,0 +1,431 @@
+package com.fakeplugins.fakepluginslist;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.kyori.adventure.text.Component;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LoadTest {
+
+    private static final Component HEADER = Component.text("This server is running a load test");
+    private static final String[] NO_ARGS = new String[0];
+    private static final Metrics.Counter[] VIEWS = {
+            Metrics.Counter.FAKE_VIEW, Metrics.Counter.REAL_VIEW, Metrics.Counter.THROTTLED
+    };
+
+    private final Options options;
+    private final StandInServer server;
+    private final List<CapturingSender> senders;
+    private final YamlConfiguration[] configs;
+
+    private LoadTest(Options options) {
+        this.options = options;
+        this.server = new StandInServer(options.realPlugins);
+        this.senders = new ArrayList<>(options.senders);
+        for (int i = 0; i < options.senders; i++) {
+            senders.add(new CapturingSender(i % 100 < options.realPercent, UUID.randomUUID()));
+        }
+        this.configs = new YamlConfiguration[]{config(true), config(false)};
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Options options = Options.parse(args);
+        LoadTest test = new LoadTest(options);
+        test.server.install();
+        test.server.setOnline(test.senders);
+        JsonArray phases = new JsonArray();
+        for (Mode mode : Mode.values()) {
+            Phase phase = test.run(mode);
+            System.out.println(phase.summary());
+            phases.add(phase.toJson());
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("timestamp", Instant.now().toString());
+        result.addProperty("java", System.getProperty("java.version"));
+        result.addProperty("processors", Runtime.getRuntime().availableProcessors());
+        result.add("options", options.toJson());
+        result.add("phases", phases);
+        Path out = Paths.get(options.out);
+        try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(result, writer);
+        }
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private Phase run(Mode mode) throws InterruptedException {
+        Phase phase = new Phase(mode, mode == Mode.PLATFORM ? options.platformThreads : senders.size());
+        Thread reloader = new Thread(phase::reloadLoop, "load-test-reloader");
+        reloader.setDaemon(true);
+        reloader.start();
+        ExecutorService executor = mode == Mode.PLATFORM
+                ? Executors.newFixedThreadPool(options.platformThreads)
+                : Executors.newVirtualThreadPerTaskExecutor();
+        if (mode == Mode.PLATFORM) {
+            for (int worker = 0; worker < options.platformThreads; worker++) {
+                List<CapturingSender> group = new ArrayList<>();
+                for (int i = worker; i < senders.size(); i += options.platformThreads) {
+                    group.add(senders.get(i));
+                }
+                executor.execute(() -> phase.callLoop(group, randomFor(group), false));
+            }
+        } else {
+            for (CapturingSender sender : senders) {
+                List<CapturingSender> group = List.of(sender);
+                executor.execute(() -> phase.callLoop(group, randomFor(group), true));
+            }
+        }
+        Thread.sleep(TimeUnit.SECONDS.toMillis(options.warmupSeconds));
+        long reloaderId = reloader.threadId();
+        long allocatedBefore = allocatedBytes(reloaderId);
+        long started = System.nanoTime();
+        long[] before = phase.counts();
+        phase.recording = true;
+        Thread.sleep(TimeUnit.SECONDS.toMillis(options.seconds));
+        phase.recording = false;
+        phase.elapsedNanos = System.nanoTime() - started;
+        long[] after = phase.counts();
+        for (int i = 0; i < after.length; i++) {
+            phase.views[i] = after[i] - before[i];
+        }
+        phase.allocatedBytes = allocatedBytes(reloaderId) - allocatedBefore;
+        phase.running = false;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(mode + " workers did not stop");
+        }
+        reloader.join();
+        return phase;
+    }
+
+    private static SplittableRandom randomFor(List<CapturingSender> group) {
+        return new SplittableRandom(group.get(0).sender().hashCode());
+    }
+
+    private static long allocatedBytes(long excludedThread) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threads.getAllThreadIds();
+        long[] allocated = threads.getThreadAllocatedBytes(ids);
+        long total = 0L;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != excludedThread && allocated[i] > 0) {
+                total += allocated[i];
+            }
+        }
+        return total;
+    }
+
+    private YamlConfiguration config(boolean perPlayer) {
+        YamlConfiguration config = Catalogues.synthetic(options.size, true, 16);
+        config.set("per_player_order.enabled", perPlayer);
+        config.set("per_player_order.cache_size", Math.max(64, options.senders / 4));
+        if (!perPlayer) {
+            config.set("server_header", "<white>Server Plugins (%count%) for %online%/%max_players% players:");
+        }
+        if (options.rateLimit) {
+            config.set("rate_limit.enabled", true);
+            config.set("rate_limit.per_sender_per_second", 2.0D);
+            config.set("rate_limit.per_sender_burst", 4);
+            config.set("rate_limit.throttled_reply", "message");
+        }
+        return config;
+    }
+
+    private enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    private final class Phase {
+        private final Mode mode;
+        private final int threads;
+        private final CommandDispatcher dispatcher =
+                new CommandDispatcher(null, server.pluginManager(), HEADER, sender -> { });
+        private final LatencyRecorder latency = new LatencyRecorder();
+        private final long[] views = new long[VIEWS.length];
+        private final LongAdder missing = new LongAdder();
+        private final LongAdder reloads = new LongAdder();
+        private volatile boolean running = true;
+        private volatile boolean recording;
+        private long elapsedNanos;
+        private long allocatedBytes;
+
+        private Phase(Mode mode, int threads) {
+            this.mode = mode;
+            this.threads = threads;
+            dispatcher.publish(ConfigSnapshot.load(configs[0], Paths.get(""), null));
+        }
+
+        private void reloadLoop() {
+            int next = 1;
+            while (running) {
+                dispatcher.publish(ConfigSnapshot.load(configs[next++ & 1], Paths.get(""), null));
+                if (next % 16 == 0) {
+                    dispatcher.pluginsChanged();
+                }
+                if (recording) {
+                    reloads.increment();
+                }
+                try {
+                    Thread.sleep(options.reloadMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void callLoop(List<CapturingSender> group, SplittableRandom random, boolean yield) {
+            int index = 0;
+            while (running) {
+                CapturingSender sender = group.get(index);
+                index = index + 1 == group.size() ? 0 : index + 1;
+                long started = System.nanoTime();
+                call(sender, random.nextInt(100) < options.versionPercent);
+                long elapsed = System.nanoTime() - started;
+                if (recording) {
+                    latency.record(elapsed);
+                }
+                if (yield) {
+                    Thread.yield();
+                }
+            }
+        }
+
+        private void call(CapturingSender capturing, boolean version) {
+            CommandSender sender = capturing.sender();
+            if (version) {
+                dispatcher.executeVersion(sender, "version", NO_ARGS);
+            } else {
+                dispatcher.executePlugins(sender, "plugins", NO_ARGS);
+            }
+            if (capturing.take() == null && recording) {
+                missing.increment();
+            }
+        }
+
+        private long[] counts() {
+            long[] counts = new long[VIEWS.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = dispatcher.metrics.count(VIEWS[i]);
+            }
+            return counts;
+        }
+
+        private long calls() {
+            return latency.count();
+        }
+
+        private double throughput() {
+            return calls() * 1_000_000_000.0D / Math.max(1L, elapsedNanos);
+        }
+
+        private String summary() {
+            long calls = calls();
+            return String.format(Locale.ROOT,
+                    "%s: %d senders on %d threads, %d calls, %.0f calls/s, p50 %.1fus, p99 %.1fus, %d B/call, %d reloads, %d missing",
+                    mode.name().toLowerCase(Locale.ROOT), senders.size(), threads, calls, throughput(),
+                    latency.percentile(0.50D) / 1000.0D, latency.percentile(0.99D) / 1000.0D,
+                    calls == 0 ? 0L : allocatedBytes / calls, reloads.sum(), missing.sum());
+        }
+
+        private JsonObject toJson() {
+            long calls = calls();
+            JsonObject json = new JsonObject();
+            json.addProperty("mode", mode.name().toLowerCase(Locale.ROOT));
+            json.addProperty("threads", threads);
+            json.addProperty("senders", senders.size());
+            json.addProperty("elapsed_seconds", elapsedNanos / 1_000_000_000.0D);
+            json.addProperty("calls", calls);
+            json.addProperty("calls_per_second", throughput());
+            JsonObject nanos = new JsonObject();
+            nanos.addProperty("mean", latency.mean());
+            nanos.addProperty("p50", latency.percentile(0.50D));
+            nanos.addProperty("p90", latency.percentile(0.90D));
+            nanos.addProperty("p99", latency.percentile(0.99D));
+            nanos.addProperty("p999", latency.percentile(0.999D));
+            nanos.addProperty("max", latency.max());
+            json.add("latency_nanos", nanos);
+            json.addProperty("allocated_bytes_per_call", calls == 0 ? 0L : allocatedBytes / calls);
+            json.addProperty("fake_views", views[0]);
+            json.addProperty("real_views", views[1]);
+            json.addProperty("throttled", views[2]);
+            json.addProperty("missing_messages", missing.sum());
+            json.addProperty("reloads", reloads.sum());
+            return json;
+        }
+    }
+
+    private static final class LatencyRecorder {
+
+        private static final int SUB_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+        private final LongAdder[] buckets = new LongAdder[(64 - SUB_BITS + 1) * SUB_BUCKETS];
+        private final LongAdder total = new LongAdder();
+        private volatile long max;
+
+        private LatencyRecorder() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long value = Math.max(0L, nanos);
+            buckets[index(value)].increment();
+            total.add(value);
+            if (value > max) {
+                synchronized (this) {
+                    max = Math.max(max, value);
+                }
+            }
+        }
+
+        private long count() {
+            long count = 0L;
+            for (LongAdder bucket : buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        private double mean() {
+            long count = count();
+            return count == 0 ? 0.0D : (double) total.sum() / count;
+        }
+
+        private long max() {
+            return max;
+        }
+
+        private long percentile(double fraction) {
+            long target = (long) Math.ceil(count() * fraction);
+            long seen = 0L;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= target && seen > 0) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        private static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        private static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+            long width = 1L << (exponent - SUB_BITS);
+            return ((SUB_BUCKETS + (long) (index % SUB_BUCKETS)) << (exponent - SUB_BITS)) + width - 1;
+        }
+    }
+
+    private static final class Options {
+        private int senders = 5000;
+        private int platformThreads = 64;
+        private int realPercent = 10;
+        private int versionPercent = 30;
+        private int size = 1000;
+        private int realPlugins = 80;
+        private int warmupSeconds = 3;
+        private int seconds = 10;
+        private long reloadMillis = 50L;
+        private boolean rateLimit;
+        private String out = "load-test-result.json";
+
+        private static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int split = arg.indexOf('=');
+                if (!arg.startsWith("--") || split < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got " + arg);
+                }
+                String name = arg.substring(2, split);
+                String value = arg.substring(split + 1);
+                switch (name) {
+                    case "senders":
+                        options.senders = Math.max(1, Integer.parseInt(value));
+                        break;
+                    case "platform-threads":
+                        options.platformThreads = Math.max(1, Integer.parseInt(value));
+                        break;
+                    case "real-percent":
+                        options.realPercent = Integer.parseInt(value);
+                        break;
+                    case "version-percent":
+                        options.versionPercent = Integer.parseInt(value);
+                        break;
+                    case "size":
+                        options.size = Math.max(1, Integer.parseInt(value));
+                        break;
+                    case "real-plugins":
+                        options.realPlugins = Math.max(1, Integer.parseInt(value));
+                        break;
+                    case "warmup-seconds":
+                        options.warmupSeconds = Math.max(0, Integer.parseInt(value));
+                        break;
+                    case "seconds":
+                        options.seconds = Math.max(1, Integer.parseInt(value));
+                        break;
+                    case "reload-millis":
+                        options.reloadMillis = Math.max(0L, Long.parseLong(value));
+                        break;
+                    case "rate-limit":
+                        options.rateLimit = Boolean.parseBoolean(value);
+                        break;
+                    case "out":
+                        options.out = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option --" + name);
+                }
+            }
+            options.platformThreads = Math.min(options.platformThreads, options.senders);
+            return options;
+        }
+
+        private JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("senders", senders);
+            json.addProperty("platform_threads", platformThreads);
+            json.addProperty("real_percent", realPercent);
+            json.addProperty("version_percent", versionPercent);
+            json.addProperty("catalogue_size", size);
+            json.addProperty("real_plugins", realPlugins);
+            json.addProperty("warmup_seconds", warmupSeconds);
+            json.addProperty("seconds", seconds);
+            json.addProperty("reload_millis", reloadMillis);
+            json.addProperty("rate_limit", rateLimit);
+            return json;
+        }
+    }
+}
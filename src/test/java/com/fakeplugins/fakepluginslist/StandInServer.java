@@ -0,0 +1,132 @@
+package com.fakeplugins.fakepluginslist;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.PluginManager;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+final class StandInServer {
+
+    private static final double[] TPS = {20.0D, 20.0D, 20.0D};
+
+    private final Plugin[] plugins;
+    private final PluginManager pluginManager;
+    private final Server server;
+    private volatile Collection<? extends Player> onlinePlayers = Collections.emptyList();
+
+    StandInServer(int pluginCount) {
+        plugins = new Plugin[pluginCount];
+        for (int i = 0; i < pluginCount; i++) {
+            plugins[i] = plugin("RealPlugin" + i, i % 8 != 0);
+        }
+        pluginManager = proxy(PluginManager.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getPlugins":
+                    return plugins.clone();
+                case "getPlugin":
+                    for (Plugin plugin : plugins) {
+                        if (plugin.getName().equalsIgnoreCase((String) args[0])) {
+                            return plugin;
+                        }
+                    }
+                    return null;
+                default:
+                    return defaultValue(method);
+            }
+        });
+        Logger logger = Logger.getLogger("StandInServer");
+        server = proxy(Server.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return "StandIn";
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "load-test";
+                case "getPluginManager":
+                    return pluginManager;
+                case "getOnlinePlayers":
+                    return onlinePlayers;
+                case "getMaxPlayers":
+                    return 10_000;
+                case "getTPS":
+                    return TPS.clone();
+                case "getLogger":
+                    return logger;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    void install() {
+        if (Bukkit.getServer() == null) {
+            Bukkit.setServer(server);
+        }
+    }
+
+    void setOnline(List<CapturingSender> senders) {
+        List<Player> players = new ArrayList<>(senders.size());
+        for (CapturingSender sender : senders) {
+            if (sender.sender() instanceof Player) {
+                players.add((Player) sender.sender());
+            }
+        }
+        onlinePlayers = Collections.unmodifiableList(players);
+    }
+
+    PluginManager pluginManager() {
+        return pluginManager;
+    }
+
+    private static Plugin plugin(String name, boolean enabled) {
+        PluginDescriptionFile description = new PluginDescriptionFile(name, "1.0." + name.length(), "stand.in." + name);
+        return proxy(Plugin.class, (method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getDescription":
+                    return description;
+                case "isEnabled":
+                    return enabled;
+                default:
+                    return defaultValue(method);
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return type.getSimpleName() + " stand-in";
+                        default:
+                            return handler.invoke(method, args);
+                    }
+                }));
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        return type.isPrimitive() && type != void.class ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+}